@@ -0,0 +1,77 @@
+package io.github.revisit_app.decksservice.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.revisit_app.decksservice.util.CardChanges;
+import io.github.revisit_app.decksservice.util.CardChangesResult;
+
+// Merging a batch of card ids into a deck, half of which are already present.
+// listContains is the quadratic List.contains dedupe; the others are the
+// hash-based variants, including the handler's CardChangesResult.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardDedupeBenchmark {
+
+  @Param({ "10", "1000", "10000" })
+  int cards;
+
+  private List<String> existing;
+  private Set<String> existingSet;
+  private List<String> incoming;
+  private CardChanges changes;
+
+  @Setup
+  public void setUp() {
+    existing = Fixtures.cardIds("card", cards);
+    existingSet = new HashSet<>(existing);
+    incoming = new ArrayList<>(existing.subList(cards / 2, cards));
+    incoming.addAll(Fixtures.cardIds("new", cards / 2));
+    changes = new CardChanges();
+    changes.setAdd(new HashSet<>(incoming));
+  }
+
+  @Benchmark
+  public List<String> listContains() {
+    var merged = new ArrayList<>(existing);
+    for (var cardId : incoming) {
+      if (!merged.contains(cardId))
+        merged.add(cardId);
+    }
+
+    return merged;
+  }
+
+  @Benchmark
+  public Set<String> hashSet() {
+    var merged = new LinkedHashSet<>(existing);
+    merged.addAll(incoming);
+
+    return merged;
+  }
+
+  @Benchmark
+  public CardChangesResult cardChangesResult() {
+    return CardChangesResult.of(existingSet, changes);
+  }
+}
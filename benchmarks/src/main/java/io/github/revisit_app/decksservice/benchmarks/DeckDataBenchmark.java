@@ -0,0 +1,65 @@
+package io.github.revisit_app.decksservice.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.util.DeckData;
+
+// DeckData construction and JSON serialization, which every deck GET pays for.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeckDataBenchmark {
+
+  @Param({ "10", "1000", "10000" })
+  int cards;
+
+  private Deck deck;
+  private DeckData data;
+  private ObjectMapper mapper;
+
+  @Setup
+  public void setUp() {
+    deck = Fixtures.deck("bench", cards);
+    data = new DeckData(deck, 42L);
+    // Configured like Spring Boot's auto-configured mapper.
+    mapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+  }
+
+  @Benchmark
+  public DeckData construct() {
+    return new DeckData(deck, 42L);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return mapper.writeValueAsBytes(data);
+  }
+
+  @Benchmark
+  public byte[] constructAndSerialize() throws JsonProcessingException {
+    return mapper.writeValueAsBytes(new DeckData(deck, 42L));
+  }
+}
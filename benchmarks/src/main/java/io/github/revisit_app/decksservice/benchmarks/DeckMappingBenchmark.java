@@ -0,0 +1,71 @@
+package io.github.revisit_app.decksservice.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.UserDefinedType;
+import com.datastax.oss.driver.internal.core.type.UserDefinedTypeBuilder;
+
+import io.github.revisit_app.decksservice.entity.AuthorDeck;
+import io.github.revisit_app.decksservice.entity.Deck;
+
+// Spring Data's entity mapping of a Deck into column values, as done for every
+// insert, next to the hand-written AuthorDeck projection.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeckMappingBenchmark {
+
+  @Param({ "10", "1000", "10000" })
+  int cards;
+
+  private Deck deck;
+  private MappingCassandraConverter converter;
+
+  @Setup
+  public void setUp() {
+    deck = Fixtures.deck("bench", cards);
+    // The keyspace's user_udt, so the author can be mapped without a session.
+    UserDefinedType userUdt = new UserDefinedTypeBuilder("decks", "user_udt")
+        .withField("id", DataTypes.BIGINT)
+        .withField("username", DataTypes.TEXT)
+        .withField("first_name", DataTypes.TEXT)
+        .withField("last_name", DataTypes.TEXT)
+        .build();
+    converter = new MappingCassandraConverter();
+    converter.setUserTypeResolver(name -> userUdt);
+    converter.afterPropertiesSet();
+  }
+
+  @Benchmark
+  public Map<CqlIdentifier, Object> writeDeck() {
+    var columns = new HashMap<CqlIdentifier, Object>();
+    converter.write(deck, columns);
+
+    return columns;
+  }
+
+  @Benchmark
+  public AuthorDeck authorDeck() {
+    return AuthorDeck.of(deck);
+  }
+}
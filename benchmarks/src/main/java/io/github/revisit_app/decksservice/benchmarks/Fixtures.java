@@ -0,0 +1,33 @@
+package io.github.revisit_app.decksservice.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+
+final class Fixtures {
+
+  private Fixtures() {
+  }
+
+  static List<String> cardIds(String prefix, int count) {
+    var cards = new ArrayList<String>(count);
+    for (int i = 0; i < count; i++)
+      cards.add(prefix + "-" + i);
+
+    return cards;
+  }
+
+  static Deck deck(String id, int cards) {
+    var now = Instant.now();
+
+    return new Deck(id, new UserUDT(1L, "author", "Ada", "Lovelace"), "Deck " + id,
+        "A benchmark deck with " + cards + " cards", now, now, new HashSet<>(cardIds("card", cards)),
+        Uuids.timeBased(), null);
+  }
+}
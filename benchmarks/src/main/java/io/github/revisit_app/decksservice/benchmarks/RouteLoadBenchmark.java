@@ -0,0 +1,176 @@
+package io.github.revisit_app.decksservice.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.server.WebFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.revisit_app.decksservice.DecksServiceApplication;
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.github.revisit_app.decksservice.util.CardChanges;
+
+// End-to-end load on the deck routes: requests go through the application's
+// RouterFunction and web filters via WebTestClient, with the in-memory store
+// standing in for Cassandra. Throughput and sampled latency (p50..p99.99) are
+// reported for each route.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class RouteLoadBenchmark {
+
+  @Param({ "1000" })
+  int decks;
+
+  @Param({ "100" })
+  int cards;
+
+  private ConfigurableApplicationContext context;
+  private WebTestClient client;
+  private List<String> deckIds;
+  private List<String> etags;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(DecksServiceApplication.class)
+        .web(WebApplicationType.NONE)
+        .profiles("in-memory")
+        .properties("logging.level.io.github.revisit_app=warn")
+        .run();
+    var mapper = context.getBean(ObjectMapper.class);
+    var strategies = HandlerStrategies.builder()
+        .codecs(codecs -> {
+          codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper));
+          codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(mapper));
+        })
+        .build();
+    var filters = new ArrayList<>(context.getBeansOfType(WebFilter.class).values());
+    AnnotationAwareOrderComparator.sort(filters);
+    client = WebTestClient.bindToRouterFunction(context.getBean(RouterFunction.class))
+        .handlerStrategies(strategies)
+        .webFilter(filters.toArray(WebFilter[]::new))
+        .build();
+
+    var store = context.getBean(DeckStore.class);
+    deckIds = new ArrayList<>(decks);
+    etags = new ArrayList<>(decks);
+    for (int i = 0; i < decks; i++) {
+      var deck = Fixtures.deck("deck-" + i, cards);
+      store.createDeck(deck, deck.getAuthor().getId()).block();
+      deckIds.add(deck.getId());
+      etags.add(client.get().uri("/{id}", deck.getId())
+          .exchange()
+          .expectStatus().isOk()
+          .returnResult(byte[].class)
+          .getResponseHeaders()
+          .getETag());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  // Adds a card to a random deck and removes it again on the next call, so
+  // the decks keep their size for the whole run.
+  @State(Scope.Thread)
+  public static class CardToggle {
+
+    private final String cardId = "toggle-" + Thread.currentThread().getId();
+    private String deckId;
+
+    String deckId(List<String> deckIds) {
+      if (deckId == null)
+        return deckIds.get(ThreadLocalRandom.current().nextInt(deckIds.size()));
+
+      return deckId;
+    }
+
+    CardChanges next(String target) {
+      var changes = new CardChanges();
+      if (deckId == null) {
+        changes.setAdd(Set.of(cardId));
+        deckId = target;
+      } else {
+        changes.setRemove(Set.of(cardId));
+        deckId = null;
+      }
+
+      return changes;
+    }
+  }
+
+  @Benchmark
+  public byte[] getDeck() {
+    var deckId = deckIds.get(ThreadLocalRandom.current().nextInt(decks));
+
+    return client.get().uri("/{id}", deckId)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().returnResult().getResponseBody();
+  }
+
+  @Benchmark
+  public int getDeckNotModified() {
+    var i = ThreadLocalRandom.current().nextInt(decks);
+
+    return client.get().uri("/{id}", deckIds.get(i))
+        .ifNoneMatch(etags.get(i))
+        .exchange()
+        .expectStatus().isNotModified()
+        .returnResult(Void.class)
+        .getRawStatusCode();
+  }
+
+  @Benchmark
+  public byte[] getDeckFields() {
+    var deckId = deckIds.get(ThreadLocalRandom.current().nextInt(decks));
+
+    return client.get().uri("/{id}?fields=title,numCards", deckId)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().returnResult().getResponseBody();
+  }
+
+  @Benchmark
+  public byte[] updateCards(CardToggle toggle) {
+    var deckId = toggle.deckId(deckIds);
+
+    return client.post().uri("/{id}/cards", deckId)
+        .bodyValue(toggle.next(deckId))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().returnResult().getResponseBody();
+  }
+}
@@ -1,16 +1,35 @@
 package io.github.revisit_app.decksservice;
 
-import com.datastax.oss.driver.api.core.CqlSession;
-
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import io.github.revisit_app.decksservice.admission.AdmissionProperties;
 import io.github.revisit_app.decksservice.connection.DataStaxAstraProperties;
-
-@EnableConfigurationProperties(DataStaxAstraProperties.class)
+import io.github.revisit_app.decksservice.connection.UserProfileProperties;
+import io.github.revisit_app.decksservice.connection.UserRegistrationProperties;
+import io.github.revisit_app.decksservice.migration.MigrationProperties;
+import io.github.revisit_app.decksservice.service.DeckCacheProperties;
+import io.github.revisit_app.decksservice.service.DeckChangesProperties;
+import io.github.revisit_app.decksservice.service.DeckEventsProperties;
+import io.github.revisit_app.decksservice.service.ProfileOutboxProperties;
+import io.github.revisit_app.decksservice.service.SavesReconcileProperties;
+import io.github.revisit_app.decksservice.service.SearchProperties;
+import io.github.revisit_app.decksservice.service.TrendingProperties;
+import io.github.revisit_app.decksservice.tracing.TracingProperties;
+
+@EnableConfigurationProperties({ DataStaxAstraProperties.class, UserRegistrationProperties.class,
+		UserProfileProperties.class, DeckCacheProperties.class, ProfileOutboxProperties.class,
+		TrendingProperties.class, DeckChangesProperties.class,
+		DeckEventsProperties.class, TracingProperties.class, AdmissionProperties.class,
+		SearchProperties.class, MigrationProperties.class, SavesReconcileProperties.class })
 @SpringBootApplication
 public class DecksServiceApplication {
 
@@ -18,21 +37,20 @@ public class DecksServiceApplication {
 		SpringApplication.run(DecksServiceApplication.class, args);
 	}
 
+	// Boot's customizers add the http.client.requests metrics.
 	@Bean
-	public CqlSession connectToAstra(DataStaxAstraProperties astraProperties) {
-
-		CqlSession cqlSession = CqlSession.builder()
-				.withCloudSecureConnectBundle(astraProperties.getSecureConnectBundle().toPath())
-				.withAuthCredentials(astraProperties.getUsername(),
-						astraProperties.getPassword())
-				.withKeyspace(astraProperties.getKeyspace())
-				.build();
+	WebClient.Builder webClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+		WebClient.Builder builder = WebClient.builder();
+		customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
 
-		return cqlSession;
+		return builder;
 	}
 
+	// Stops the application as soon as it is ready. The cds build profile runs
+	// it this way once to record the classes loaded during startup.
 	@Bean
-	WebClient.Builder webClientBuilder() {
-		return WebClient.builder();
+	@ConditionalOnProperty(prefix = "decks.startup", name = "exit-on-ready", havingValue = "true")
+	ApplicationListener<ApplicationReadyEvent> exitOnReady() {
+		return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
 	}
 }
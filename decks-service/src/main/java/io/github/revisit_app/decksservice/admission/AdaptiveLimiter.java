@@ -0,0 +1,104 @@
+package io.github.revisit_app.decksservice.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Latency-gradient concurrency limit. The long-term average latency is the
+// baseline; while recent latency stays within the tolerance of it the limit
+// grows by about sqrt(limit) per sample, and as latency rises above it the
+// limit shrinks in proportion (at most halving per sample). Failures back off
+// multiplicatively. The limit only grows while at least half of it is in use,
+// so an idle instance does not drift to the maximum.
+public class AdaptiveLimiter {
+
+  public enum Outcome {
+    ADMITTED, LIMITED, USER_LIMITED
+  }
+
+  private static final double LONG_WINDOW_FACTOR = 2.0 / 601;
+  private static final double BACKOFF = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double smoothing;
+  private final double userShare;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Map<String, Integer> users = new ConcurrentHashMap<>();
+
+  private volatile double limit;
+  private double longRtt;
+
+  public AdaptiveLimiter(AdmissionProperties.Limit limits, AdmissionProperties properties) {
+    this.minLimit = limits.getMinLimit();
+    this.maxLimit = limits.getMaxLimit();
+    this.limit = limits.getInitialLimit();
+    this.tolerance = properties.getTolerance();
+    this.smoothing = properties.getSmoothing();
+    this.userShare = properties.getUserShare();
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public Outcome tryAcquire(String userId) {
+    var current = getLimit();
+    int busy;
+    do {
+      busy = inFlight.get();
+      if (busy >= current)
+        return Outcome.LIMITED;
+    } while (!inFlight.compareAndSet(busy, busy + 1));
+    if (userId == null || userShare <= 0)
+      return Outcome.ADMITTED;
+
+    // Fairness only applies under contention; a lone user may use it all.
+    var share = busy < current / 2 ? current : Math.max(1, (int) (current * userShare));
+    var admitted = new boolean[1];
+    users.compute(userId, (id, held) -> {
+      var count = held == null ? 0 : held;
+      admitted[0] = count < share;
+
+      return admitted[0] ? count + 1 : held;
+    });
+    if (admitted[0])
+      return Outcome.ADMITTED;
+    inFlight.decrementAndGet();
+
+    return Outcome.USER_LIMITED;
+  }
+
+  public void release(String userId) {
+    inFlight.decrementAndGet();
+    if (userId != null && userShare > 0)
+      users.computeIfPresent(userId, (id, held) -> held > 1 ? held - 1 : null);
+  }
+
+  public synchronized void onSample(long rttNanos) {
+    var rtt = Math.max(1, rttNanos);
+    longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * LONG_WINDOW_FACTOR;
+    // After a spike the baseline would stay inflated for a long time; let it
+    // come down quickly once latency has recovered.
+    if (longRtt > 2 * rtt)
+      longRtt *= 0.95;
+    if (inFlight.get() < limit / 2)
+      return;
+    var gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+    var estimate = limit * gradient + Math.sqrt(limit);
+    update(limit * (1 - smoothing) + estimate * smoothing);
+  }
+
+  public synchronized void onDropped() {
+    update(limit * BACKOFF);
+  }
+
+  private void update(double estimate) {
+    limit = Math.max(minLimit, Math.min(maxLimit, estimate));
+  }
+}
@@ -0,0 +1,160 @@
+package io.github.revisit_app.decksservice.admission;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+// Admission control for the deck routes. Each route class has its own
+// adaptive limit; requests over it are rejected immediately with 503, and a
+// userId holding more than its share of a busy class gets 429. A request
+// holds its permit until its response has been written, since streamed
+// bodies do most of their reads while being written, and latency is measured
+// over the same span; errors or 5xx responses shrink the limit.
+@Slf4j
+@Component
+public class AdmissionFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+  private final AdmissionProperties properties;
+  private final Map<RouteClass, AdaptiveLimiter> limiters = new EnumMap<>(RouteClass.class);
+  private final Map<RouteClass, Counter> limited = new EnumMap<>(RouteClass.class);
+  private final Map<RouteClass, Counter> userLimited = new EnumMap<>(RouteClass.class);
+
+  public AdmissionFilter(AdmissionProperties properties, MeterRegistry registry) {
+    this.properties = properties;
+    limiters.put(RouteClass.READS, new AdaptiveLimiter(properties.getReads(), properties));
+    limiters.put(RouteClass.WRITES, new AdaptiveLimiter(properties.getWrites(), properties));
+    limiters.put(RouteClass.CREATES, new AdaptiveLimiter(properties.getCreates(), properties));
+    limiters.forEach((routeClass, limiter) -> {
+      var route = routeClass.name().toLowerCase(Locale.ROOT);
+      Gauge.builder("decks.admission.limit", limiter, AdaptiveLimiter::getLimit)
+          .tag("route", route)
+          .register(registry);
+      Gauge.builder("decks.admission.in-flight", limiter, AdaptiveLimiter::getInFlight)
+          .tag("route", route)
+          .register(registry);
+      limited.put(routeClass, registry.counter("decks.admission.rejected", "route", route, "reason", "limit"));
+      userLimited.put(routeClass, registry.counter("decks.admission.rejected", "route", route, "reason", "user"));
+    });
+  }
+
+  @Override
+  public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+    var routeClass = RouteClass.of(request);
+    if (!properties.isEnabled() || routeClass == null)
+      return next.handle(request);
+    var limiter = limiters.get(routeClass);
+    var userId = request.headers().firstHeader("userId");
+
+    switch (limiter.tryAcquire(userId)) {
+      case LIMITED:
+        limited.get(routeClass).increment();
+        log.warn("Shedding {} {}: {} limit of {} reached", request.method(), request.path(), routeClass,
+            limiter.getLimit());
+
+        return reject(HttpStatus.SERVICE_UNAVAILABLE);
+      case USER_LIMITED:
+        userLimited.get(routeClass).increment();
+        log.warn("Shedding {} {}: user {} is over its {} share", request.method(), request.path(), userId,
+            routeClass);
+
+        return reject(HttpStatus.TOO_MANY_REQUESTS);
+      default:
+        break;
+    }
+
+    var permit = new Permit(limiter, userId);
+
+    return Mono.defer(() -> next.handle(request))
+        .<ServerResponse>map(response -> new AdmittedResponse(response, permit))
+        .doOnError(error -> permit.release(SignalType.ON_ERROR, false))
+        .doOnCancel(() -> permit.release(SignalType.CANCEL, false))
+        .switchIfEmpty(Mono.fromRunnable(() -> permit.release(SignalType.ON_COMPLETE, false)));
+  }
+
+  // Released exactly once, by whichever of the handler or the write ends
+  // the request.
+  private static final class Permit {
+
+    private final AdaptiveLimiter limiter;
+    private final String userId;
+    private final long start = System.nanoTime();
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    Permit(AdaptiveLimiter limiter, String userId) {
+      this.limiter = limiter;
+      this.userId = userId;
+    }
+
+    void release(SignalType signal, boolean serverError) {
+      if (!released.compareAndSet(false, true))
+        return;
+      if (signal == SignalType.ON_ERROR || serverError)
+        limiter.onDropped();
+      else if (signal == SignalType.ON_COMPLETE)
+        limiter.onSample(System.nanoTime() - start);
+      limiter.release(userId);
+    }
+  }
+
+  private static final class AdmittedResponse implements ServerResponse {
+
+    private final ServerResponse delegate;
+    private final Permit permit;
+
+    AdmittedResponse(ServerResponse delegate, Permit permit) {
+      this.delegate = delegate;
+      this.permit = permit;
+    }
+
+    @Override
+    public HttpStatus statusCode() {
+      return delegate.statusCode();
+    }
+
+    @Override
+    public int rawStatusCode() {
+      return delegate.rawStatusCode();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+      return delegate.headers();
+    }
+
+    @Override
+    public MultiValueMap<String, ResponseCookie> cookies() {
+      return delegate.cookies();
+    }
+
+    @Override
+    public Mono<Void> writeTo(ServerWebExchange exchange, Context context) {
+      return delegate.writeTo(exchange, context)
+          .doFinally(signal -> permit.release(signal, delegate.statusCode().is5xxServerError()));
+    }
+  }
+
+  private Mono<ServerResponse> reject(HttpStatus status) {
+    return ServerResponse.status(status)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())))
+        .build();
+  }
+}
@@ -0,0 +1,55 @@
+package io.github.revisit_app.decksservice.admission;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.admission")
+@Getter
+@Setter
+public class AdmissionProperties {
+
+  private boolean enabled = true;
+
+  private Duration retryAfter = Duration.ofSeconds(1);
+
+  // How far latency may rise over its long-term average before the limit
+  // starts to shrink.
+  private double tolerance = 1.5;
+
+  // Weight of each new limit estimate.
+  private double smoothing = 0.2;
+
+  // Largest fraction of a route class's limit a single userId may hold once
+  // the class is half busy; 0 disables per-user fairness.
+  private double userShare = 0;
+
+  private Limit reads = new Limit(200, 20, 2000);
+
+  private Limit writes = new Limit(100, 10, 1000);
+
+  private Limit creates = new Limit(20, 4, 200);
+
+  @Getter
+  @Setter
+  public static class Limit {
+
+    private int initialLimit;
+
+    private int minLimit;
+
+    private int maxLimit;
+
+    public Limit() {
+    }
+
+    Limit(int initialLimit, int minLimit, int maxLimit) {
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+    }
+  }
+}
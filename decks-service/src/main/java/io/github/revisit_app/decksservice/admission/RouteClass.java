@@ -0,0 +1,33 @@
+package io.github.revisit_app.decksservice.admission;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.util.pattern.PathPattern;
+
+// Routes are limited per class because their costs differ: reads hit the
+// cache or one partition, writes run conditional updates, and creates also
+// call user-registration.
+public enum RouteClass {
+  READS, WRITES, CREATES;
+
+  private static final String EVENTS_PATTERN = "/{id}/events";
+
+  // Event streams stay open for the whole session and are not limited.
+  static RouteClass of(ServerRequest request) {
+    var pattern = request.attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE)
+        .map(attribute -> ((PathPattern) attribute).getPatternString())
+        .orElse("");
+    var method = request.method();
+    if (method == HttpMethod.GET)
+      return EVENTS_PATTERN.equals(pattern) ? null : READS;
+    if (method == HttpMethod.POST) {
+      if ("/batch".equals(pattern))
+        return READS;
+      if (pattern.isEmpty() || "/import".equals(pattern) || "/{id}/fork".equals(pattern))
+        return CREATES;
+    }
+
+    return WRITES;
+  }
+}
@@ -0,0 +1,86 @@
+package io.github.revisit_app.decksservice.connection;
+
+import java.util.List;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.cassandra.ReactiveSession;
+import org.springframework.data.cassandra.core.convert.CassandraConverter;
+import org.springframework.data.cassandra.core.convert.CassandraCustomConversions;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.mapping.SimpleUserTypeResolver;
+
+import io.github.revisit_app.decksservice.tracing.TracedReactiveSession;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Astra is the store in every profile except in-memory, which excludes the
+// Cassandra auto-configuration and does not need a session.
+@Configuration
+@Profile("!in-memory")
+public class AstraConfig {
+
+	// Connecting starts as soon as the connector is created and finishes in the
+	// background; see AstraSessionConnector.
+	@Bean
+	public AstraSessionConnector astraSessionConnector(DataStaxAstraProperties astraProperties, MeterRegistry meterRegistry) {
+
+		// Driver metrics are published to Micrometer as cassandra.session.* and
+		// cassandra.nodes.*, tagged with the session and node.
+		DriverConfigLoader configLoader = astraProperties.driverConfig()
+				.withString(DefaultDriverOption.SESSION_NAME, "decks")
+				.withString(DefaultDriverOption.METRICS_FACTORY_CLASS, "MicrometerMetricsFactory")
+				.withString(DefaultDriverOption.METRICS_ID_GENERATOR_CLASS, "TaggingMetricIdGenerator")
+				.withString(DefaultDriverOption.METRICS_ID_GENERATOR_PREFIX, "cassandra")
+				.withStringList(DefaultDriverOption.METRICS_SESSION_ENABLED, List.of("cql-requests",
+						"cql-client-timeouts", "throttling.delay", "bytes-sent", "bytes-received", "connected-nodes"))
+				.withStringList(DefaultDriverOption.METRICS_NODE_ENABLED, List.of("cql-messages",
+						"pool.open-connections", "pool.in-flight", "errors.request.unsent", "errors.request.aborted",
+						"errors.request.write-timeouts", "errors.request.read-timeouts", "errors.request.unavailables"))
+				.build();
+
+		return new AstraSessionConnector(() -> CqlSession.builder()
+				.withCloudSecureConnectBundle(astraProperties.getSecureConnectBundle().toPath())
+				.withAuthCredentials(astraProperties.getUsername(),
+						astraProperties.getPassword())
+				.withKeyspace(astraProperties.getKeyspace())
+				.withConfigLoader(configLoader)
+				.withMetricRegistry(meterRegistry)
+				.buildAsync(), astraProperties.getConnect(), !astraProperties.isPrepareOnStartup());
+	}
+
+	// Only Spring Data's blocking infrastructure holds this one; the service
+	// runs on the reactive session.
+	@Bean(destroyMethod = "")
+	public CqlSession cqlSession(AstraSessionConnector connector) {
+		return connector.lazySession();
+	}
+
+	// Replaces Boot's converter, which reads the codec registry from the
+	// session and would wait for it to connect. The service registers no
+	// codecs of its own, so the default registry is the session's.
+	@Bean
+	CassandraConverter cassandraConverter(CassandraMappingContext mappingContext,
+			CassandraCustomConversions conversions, AstraSessionConnector connector,
+			DataStaxAstraProperties astraProperties) {
+		MappingCassandraConverter converter = new MappingCassandraConverter(mappingContext);
+		converter.setCodecRegistry(CodecRegistry.DEFAULT);
+		converter.setCustomConversions(conversions);
+		converter.setUserTypeResolver(new SimpleUserTypeResolver(() -> connector.awaitSession().getMetadata(),
+				CqlIdentifier.fromCql(astraProperties.getKeyspace())));
+
+		return converter;
+	}
+
+	@Bean
+	ReactiveSession reactiveCassandraSession(AstraSessionConnector connector) {
+		return new TracedReactiveSession(new ProfiledReactiveSession(new DeferredReactiveSession(connector)));
+	}
+}
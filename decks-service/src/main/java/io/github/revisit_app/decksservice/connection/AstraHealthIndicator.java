@@ -0,0 +1,31 @@
+package io.github.revisit_app.decksservice.connection;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// Reported as "astra" and part of the readiness group: DOWN until the session
+// has connected and the statements have been prepared. It reads the
+// connector's state and never goes to the cluster, so probes stay cheap.
+@Component
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class AstraHealthIndicator implements HealthIndicator {
+
+  private final AstraSessionConnector connector;
+
+  @Override
+  public Health health() {
+    if (connector.isClosed())
+      return Health.down().withDetail("session", "closed").build();
+    if (!connector.isConnected())
+      return Health.down().withDetail("session", "connecting").build();
+    if (!connector.isWarm())
+      return Health.down().withDetail("session", "preparing").build();
+
+    return Health.up().withDetail("session", "connected").build();
+  }
+}
@@ -0,0 +1,128 @@
+package io.github.revisit_app.decksservice.connection;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+// Opens the Astra session in the background, so the context starts without
+// waiting for the cluster, and keeps retrying with backoff until it connects,
+// so an unreachable cluster during a deploy holds readiness DOWN instead of
+// failing startup. Statements wait for the session; the session is warm once
+// the statement preparer has run, or straight away when it is disabled.
+@Slf4j
+public class AstraSessionConnector {
+
+  private final Duration awaitTimeout;
+  private final Sinks.One<CqlSession> connected = Sinks.one();
+  private final Disposable connecting;
+  private volatile CqlSession session;
+  private volatile boolean warm;
+  private volatile boolean closed;
+
+  public AstraSessionConnector(Supplier<CompletionStage<CqlSession>> connect,
+      DataStaxAstraProperties.Connect properties, boolean warm) {
+    this.awaitTimeout = properties.getAwaitTimeout();
+    this.warm = warm;
+    var started = System.nanoTime();
+    connecting = Mono.defer(() -> Mono.fromCompletionStage(connect.get()))
+        .doOnError(error -> log.warn("Could not connect to Astra, retrying: {}", error.toString()))
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getInitialBackoff())
+            .maxBackoff(properties.getMaxBackoff()))
+        .subscribe(session -> {
+          if (closed) {
+            session.closeAsync();
+            return;
+          }
+          this.session = session;
+          connected.tryEmitValue(session);
+          log.info("Connected to Astra in {} ms", (System.nanoTime() - started) / 1_000_000);
+        });
+  }
+
+  public boolean isConnected() {
+    return session != null;
+  }
+
+  public boolean isWarm() {
+    return warm;
+  }
+
+  public void warmedUp() {
+    warm = true;
+  }
+
+  public boolean isClosed() {
+    var current = session;
+
+    return closed || current != null && current.isClosed();
+  }
+
+  public Mono<CqlSession> session() {
+    var current = session;
+
+    return current != null ? Mono.just(current) : connected.asMono();
+  }
+
+  // For callers that cannot wait asynchronously, such as the converter
+  // resolving user types. Once connected this never blocks. Before that,
+  // callers on event-loop threads, which must not block, are turned away
+  // with a 503 straight away; other threads wait up to the await timeout.
+  public CqlSession awaitSession() {
+    var current = session;
+    if (current != null)
+      return current;
+    if (Schedulers.isInNonBlockingThread())
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Astra session is not connected yet");
+
+    return connected.asMono()
+        .timeout(awaitTimeout, Mono.error(() -> new IllegalStateException("Astra session is not connected yet")))
+        .block();
+  }
+
+  // A CqlSession for the Spring Data infrastructure, which wants one at
+  // construction time. Calls go to the connected session, waiting for it if
+  // needed, except the schema refresh done while the context starts, which
+  // is skipped because a new session loads the schema anyway. Closing is left
+  // to the connector.
+  public CqlSession lazySession() {
+    return (CqlSession) Proxy.newProxyInstance(CqlSession.class.getClassLoader(), new Class<?>[] { CqlSession.class },
+        (proxy, method, args) -> switch (method.getName()) {
+          case "equals" -> proxy == args[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "toString" -> "CqlSession(" + (isConnected() ? "connected" : "connecting") + ")";
+          case "isClosed" -> isClosed();
+          case "close", "closeAsync", "forceCloseAsync" -> throw new UnsupportedOperationException(
+              "The Astra session is closed by its connector");
+          case "refreshSchema" -> isConnected() ? session.refreshSchema() : null;
+          default -> {
+            try {
+              yield method.invoke(awaitSession(), args);
+            } catch (InvocationTargetException e) {
+              throw e.getCause();
+            }
+          }
+        });
+  }
+
+  public void close() {
+    closed = true;
+    connecting.dispose();
+    var current = session;
+    if (current != null)
+      current.close();
+  }
+}
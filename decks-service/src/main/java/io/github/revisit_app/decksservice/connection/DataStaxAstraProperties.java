@@ -1,9 +1,14 @@
 package io.github.revisit_app.decksservice.connection;
 
 import java.io.File;
+import java.time.Duration;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.config.ProgrammaticDriverConfigLoaderBuilder;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -11,6 +16,9 @@ import lombok.Setter;
 @Getter
 @Setter
 public class DataStaxAstraProperties {
+
+	public static final String READS_PROFILE = "reads";
+	public static final String WRITES_PROFILE = "writes";
 	
 	private String username;
 
@@ -19,4 +27,102 @@ public class DataStaxAstraProperties {
 	private String keyspace;
     
   private File secureConnectBundle;
+
+	private int localPoolSize = 1;
+
+	private int maxRequestsPerConnection = 1024;
+
+	private boolean prepareOnStartup = true;
+
+	private Connect connect = new Connect();
+
+	private Throttling throttling = new Throttling();
+
+	private Profile reads = new Profile(Duration.ofSeconds(2), "LOCAL_QUORUM", 2, Duration.ofMillis(50));
+
+	private Profile writes = new Profile(Duration.ofSeconds(5), "LOCAL_QUORUM", 0, Duration.ZERO);
+
+	// The session is opened in the background and retried with backoff until
+	// it connects. Callers that need driver metadata block for at most
+	// awaitTimeout; statements wait for the session instead.
+	@Getter
+	@Setter
+	public static class Connect {
+
+		private Duration initialBackoff = Duration.ofSeconds(1);
+
+		private Duration maxBackoff = Duration.ofSeconds(30);
+
+		private Duration awaitTimeout = Duration.ofSeconds(10);
+	}
+
+	@Getter
+	@Setter
+	public static class Throttling {
+
+		private boolean enabled = false;
+
+		private int maxConcurrentRequests = 1024;
+
+		private int maxQueueSize = 10_000;
+	}
+
+	// Speculative executions are only sent for idempotent statements, so they
+	// are only useful in the reads profile.
+	@Getter
+	@Setter
+	public static class Profile {
+
+		private Duration requestTimeout;
+
+		private String consistency;
+
+		private int speculativeExecutions;
+
+		private Duration speculativeDelay;
+
+		public Profile() {
+		}
+
+		public Profile(Duration requestTimeout, String consistency, int speculativeExecutions,
+				Duration speculativeDelay) {
+			this.requestTimeout = requestTimeout;
+			this.consistency = consistency;
+			this.speculativeExecutions = speculativeExecutions;
+			this.speculativeDelay = speculativeDelay;
+		}
+	}
+
+	public ProgrammaticDriverConfigLoaderBuilder driverConfig() {
+		ProgrammaticDriverConfigLoaderBuilder builder = DriverConfigLoader.programmaticBuilder()
+				.withInt(DefaultDriverOption.CONNECTION_POOL_LOCAL_SIZE, localPoolSize)
+				.withInt(DefaultDriverOption.CONNECTION_MAX_REQUESTS, maxRequestsPerConnection)
+				.withString(DefaultDriverOption.REQUEST_SERIAL_CONSISTENCY, "LOCAL_SERIAL");
+		if (throttling.isEnabled())
+			builder = builder
+					.withString(DefaultDriverOption.REQUEST_THROTTLER_CLASS, "ConcurrencyLimitingRequestThrottler")
+					.withInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_CONCURRENT_REQUESTS,
+							throttling.getMaxConcurrentRequests())
+					.withInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_QUEUE_SIZE, throttling.getMaxQueueSize());
+		builder = profile(builder.startProfile(READS_PROFILE), reads)
+				.withBoolean(DefaultDriverOption.REQUEST_DEFAULT_IDEMPOTENCE, true)
+				.endProfile();
+
+		return profile(builder.startProfile(WRITES_PROFILE), writes).endProfile();
+	}
+
+	private static ProgrammaticDriverConfigLoaderBuilder profile(ProgrammaticDriverConfigLoaderBuilder builder,
+			Profile profile) {
+		builder = builder
+				.withDuration(DefaultDriverOption.REQUEST_TIMEOUT, profile.getRequestTimeout())
+				.withString(DefaultDriverOption.REQUEST_CONSISTENCY, profile.getConsistency());
+		if (profile.getSpeculativeExecutions() < 1)
+			return builder.withString(DefaultDriverOption.SPECULATIVE_EXECUTION_POLICY_CLASS,
+					"NoSpeculativeExecutionPolicy");
+
+		return builder
+				.withString(DefaultDriverOption.SPECULATIVE_EXECUTION_POLICY_CLASS, "ConstantSpeculativeExecutionPolicy")
+				.withInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX, profile.getSpeculativeExecutions() + 1)
+				.withDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY, profile.getSpeculativeDelay());
+	}
 }
@@ -0,0 +1,100 @@
+package io.github.revisit_app.decksservice.connection;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.cassandra.ReactiveResultSet;
+import org.springframework.data.cassandra.ReactiveSession;
+import org.springframework.data.cassandra.core.cql.session.DefaultBridgedReactiveSession;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+
+import reactor.core.publisher.Mono;
+
+// Reactive session over a connection that may still be opening. Statements
+// wait for the connector instead of failing, which lets background jobs start
+// with the context; requests are held back by the readiness probe meanwhile.
+// The metadata accessors block until connected, within the connector's await
+// timeout, except on event-loop threads, where they fail with a 503.
+public class DeferredReactiveSession implements ReactiveSession {
+
+  private final AstraSessionConnector connector;
+  private volatile ReactiveSession delegate;
+
+  public DeferredReactiveSession(AstraSessionConnector connector) {
+    this.connector = connector;
+  }
+
+  @Override
+  public Metadata getMetadata() {
+    return connector.awaitSession().getMetadata();
+  }
+
+  @Override
+  public Optional<CqlIdentifier> getKeyspace() {
+    return connector.awaitSession().getKeyspace();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return connector.isClosed();
+  }
+
+  @Override
+  public DriverContext getContext() {
+    return connector.awaitSession().getContext();
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql) {
+    return delegate().flatMap(session -> session.execute(cql));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql, Object... args) {
+    return delegate().flatMap(session -> session.execute(cql, args));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql, Map<String, Object> args) {
+    return delegate().flatMap(session -> session.execute(cql, args));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(Statement<?> statement) {
+    return delegate().flatMap(session -> session.execute(statement));
+  }
+
+  @Override
+  public Mono<PreparedStatement> prepare(String cql) {
+    return delegate().flatMap(session -> session.prepare(cql));
+  }
+
+  @Override
+  public Mono<PreparedStatement> prepare(SimpleStatement statement) {
+    return delegate().flatMap(session -> session.prepare(statement));
+  }
+
+  @Override
+  public void close() {
+    connector.close();
+  }
+
+  private Mono<ReactiveSession> delegate() {
+    var current = delegate;
+    if (current != null)
+      return Mono.just(current);
+
+    return connector.session().map(session -> {
+      var bridged = new DefaultBridgedReactiveSession(session);
+      delegate = bridged;
+
+      return bridged;
+    });
+  }
+}
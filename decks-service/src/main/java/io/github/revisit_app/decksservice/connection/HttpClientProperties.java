@@ -0,0 +1,50 @@
+package io.github.revisit_app.decksservice.connection;
+
+import java.time.Duration;
+
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.github.revisit_app.decksservice.tracing.RequestTrace;
+import io.netty.channel.ChannelOption;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Getter
+@Setter
+public abstract class HttpClientProperties {
+
+  private String baseUrl;
+
+  private int maxConnections = 100;
+
+  private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+  private Duration maxIdleTime = Duration.ofSeconds(30);
+
+  private Duration connectTimeout = Duration.ofSeconds(2);
+
+  private Duration responseTimeout = Duration.ofSeconds(3);
+
+  public ConnectionProvider connectionProvider(String name) {
+    return ConnectionProvider.builder(name)
+        .maxConnections(maxConnections)
+        .pendingAcquireTimeout(pendingAcquireTimeout)
+        .maxIdleTime(maxIdleTime)
+        .build();
+  }
+
+  public WebClient webClient(WebClient.Builder wcb, ConnectionProvider provider) {
+    var httpClient = HttpClient.create(provider)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+        .responseTimeout(responseTimeout);
+
+    return wcb.clone()
+        .baseUrl(baseUrl)
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .filter(RequestTrace.exchangeFilter(provider.name()))
+        .build();
+  }
+}
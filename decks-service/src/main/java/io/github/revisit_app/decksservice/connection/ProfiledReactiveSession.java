@@ -0,0 +1,107 @@
+package io.github.revisit_app.decksservice.connection;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.cassandra.ReactiveResultSet;
+import org.springframework.data.cassandra.ReactiveSession;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+// Runs SELECTs in the reads execution profile, marked idempotent so they may
+// be sent speculatively, and everything else in the writes profile; statements
+// that name a profile keep it. Prepared statements are held for the life of
+// the session (the driver only keeps them weakly), so the CQL templates'
+// per-call prepare does not go back to the cluster. The set of statements is
+// bounded by the CQL the repositories build.
+@RequiredArgsConstructor
+public class ProfiledReactiveSession implements ReactiveSession {
+
+  private final ReactiveSession delegate;
+  private final Map<String, Mono<PreparedStatement>> prepared = new ConcurrentHashMap<>();
+
+  @Override
+  public Metadata getMetadata() {
+    return delegate.getMetadata();
+  }
+
+  @Override
+  public Optional<CqlIdentifier> getKeyspace() {
+    return delegate.getKeyspace();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return delegate.isClosed();
+  }
+
+  @Override
+  public DriverContext getContext() {
+    return delegate.getContext();
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql) {
+    return execute(SimpleStatement.newInstance(cql));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql, Object... args) {
+    return execute(SimpleStatement.newInstance(cql, args));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql, Map<String, Object> args) {
+    return execute(SimpleStatement.newInstance(cql, args));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(Statement<?> statement) {
+    return delegate.execute(route(statement));
+  }
+
+  @Override
+  public Mono<PreparedStatement> prepare(String cql) {
+    return prepared.computeIfAbsent(cql, key -> delegate.prepare(cql)
+        .doOnError(error -> prepared.remove(key))
+        .cache());
+  }
+
+  @Override
+  public Mono<PreparedStatement> prepare(SimpleStatement statement) {
+    if (statement.getExecutionProfileName() != null || statement.getExecutionProfile() != null
+        || statement.getKeyspace() != null)
+      return delegate.prepare(statement);
+
+    return prepare(statement.getQuery());
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  private static Statement<?> route(Statement<?> statement) {
+    if (statement.getExecutionProfileName() != null || statement.getExecutionProfile() != null)
+      return statement;
+    String query = null;
+    if (statement instanceof SimpleStatement simple)
+      query = simple.getQuery();
+    else if (statement instanceof BoundStatement bound)
+      query = bound.getPreparedStatement().getQuery();
+    if (query != null && query.stripLeading().regionMatches(true, 0, "SELECT", 0, 6))
+      return statement.setExecutionProfileName(DataStaxAstraProperties.READS_PROFILE).setIdempotent(true);
+
+    return statement.setExecutionProfileName(DataStaxAstraProperties.WRITES_PROFILE);
+  }
+}
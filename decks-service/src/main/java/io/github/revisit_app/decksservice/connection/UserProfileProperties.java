@@ -0,0 +1,11 @@
+package io.github.revisit_app.decksservice.connection;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "user-profile")
+public class UserProfileProperties extends HttpClientProperties {
+
+  public UserProfileProperties() {
+    setBaseUrl("http://localhost:8085");
+  }
+}
@@ -0,0 +1,22 @@
+package io.github.revisit_app.decksservice.connection;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "user-registration")
+@Getter
+@Setter
+public class UserRegistrationProperties extends HttpClientProperties {
+
+  private long cacheMaximumSize = 10_000;
+
+  private Duration cacheTtl = Duration.ofMinutes(5);
+
+  public UserRegistrationProperties() {
+    setBaseUrl("http://localhost:8086");
+  }
+}
@@ -6,8 +6,12 @@ import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import io.github.revisit_app.decksservice.admission.AdmissionFilter;
+import io.github.revisit_app.decksservice.handler.DeckEventsHandler;
 import io.github.revisit_app.decksservice.handler.DeckHandler;
 import io.github.revisit_app.decksservice.handler.SavedDecksHandler;
+import io.github.revisit_app.decksservice.handler.SearchHandler;
+import io.github.revisit_app.decksservice.handler.TrendingHandler;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
@@ -16,11 +20,19 @@ public class DeckController {
 
   private final DeckHandler dh;
   private final SavedDecksHandler sdh;
+  private final TrendingHandler th;
+  private final DeckEventsHandler deh;
+  private final SearchHandler sh;
+  private final AdmissionFilter admission;
 
   @Bean
   RouterFunction<ServerResponse> routerFunction() {
 
     return RouterFunctions.route()
+        .POST("/batch", dh::handleBatchGetDecks)
+        .POST("/import", dh::handleImportDecks)
+        .POST("/{id}/cards", dh::handleUpdateCards)
+        .POST("/{id}/fork", dh::handleForkDeck)
         .POST(dh::handleCreateDeck)
         .DELETE("/{id}/cards", dh::handleRemoveCard)
         .DELETE("/saved/{id}", sdh::handleRemoveDeck)
@@ -29,7 +41,14 @@ public class DeckController {
         .PUT("/{id}/cards", dh::handleAddCard)
         .PUT("/{id}", dh::handleUpdateDeck)
         .GET("/saved", sdh::handleGetSavedDecks)
+        .GET("/trending", th::handleGetTrending)
+        .GET("/search", sh::handleSearch)
+        .GET("/batch", dh::handleBatchGetDecks)
+        .GET("/by-author/{userId}", dh::handleGetDecksByAuthor)
+        .GET("/{id}/changes", dh::handleGetChanges)
+        .GET("/{id}/events", deh::handleGetEvents)
         .GET("/{id}", dh::handleGetDeck)
+        .filter(admission)
         .build();
   }
 }
@@ -0,0 +1,39 @@
+package io.github.revisit_app.decksservice.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Table("decks_by_author")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorDeck {
+
+    @PrimaryKeyColumn(name = "author_id", type = PrimaryKeyType.PARTITIONED)
+    private Long authorId;
+
+    @PrimaryKeyColumn(name = "date_updated", ordinal = 0, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
+    private Instant dateUpdated;
+
+    @PrimaryKeyColumn(name = "deck_id", ordinal = 1, type = PrimaryKeyType.CLUSTERED)
+    private String deckId;
+
+    private String title;
+
+    @Column("description")
+    private String desc;
+
+    public static AuthorDeck of(Deck deck) {
+        return new AuthorDeck(deck.getAuthor().getId(), deck.getDateUpdated(), deck.getId(), deck.getTitle(),
+                deck.getDesc());
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.revisit_app.decksservice.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry.Action;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Profile updates the dispatcher gave up on, by the day they were given up,
+// kept for inspection and manual replay.
+@Table("profile_outbox_dead")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadProfileOutboxEntry {
+
+    @PrimaryKeyColumn(name = "day", type = PrimaryKeyType.PARTITIONED)
+    private Instant day;
+
+    @PrimaryKeyColumn(name = "id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private UUID id;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("deck_id")
+    private String deckId;
+
+    private Action action;
+
+    private Integer attempts;
+
+    private String error;
+}
@@ -1,7 +1,8 @@
 package io.github.revisit_app.decksservice.entity;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.cassandra.core.mapping.Column;
@@ -33,14 +34,15 @@ public class Deck {
     @Column("date_updated")
     private Instant dateUpdated;
 
-    @Column("num_cards")
-    private Long numCards;
+    // Replaces the legacy cards list, which is only read until CardSetBackfill
+    // has moved every deck over; see DeckReadsImpl.
+    @Column("card_set")
+    private Set<String> cards;
 
-    @Column("num_saves")
-    private Long numSaves;
+    // timeuuid rewritten by every content change; used to derive validators.
+    private UUID version;
 
-    private List<String> cards;
-
-    @Column("saved_by")
-    private List<Long> savedBy;
+    // Id of the deck this one was forked from, null for decks created directly.
+    @Column("forked_from")
+    private String forkedFrom;
 }
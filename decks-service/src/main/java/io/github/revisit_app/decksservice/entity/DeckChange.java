@@ -0,0 +1,32 @@
+package io.github.revisit_app.decksservice.entity;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Table("deck_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeckChange {
+
+    @PrimaryKeyColumn(name = "deck_id", type = PrimaryKeyType.PARTITIONED)
+    private String deckId;
+
+    @PrimaryKeyColumn(name = "version", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private UUID version;
+
+    // The version this change was applied to; see DeckChanges.chain.
+    private UUID previous;
+
+    private Set<String> added;
+
+    private Set<String> removed;
+}
@@ -0,0 +1,76 @@
+package io.github.revisit_app.decksservice.entity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.util.TimeUuids;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Entries are partitioned by bucket and by the time slot they are due in,
+// and clustered by due time, so due entries are read with a range query and
+// drained slots are never read again. A rescheduled entry is moved to its new
+// due time and keeps its id, which is the delivery's idempotency key.
+@Table("profile_outbox_due")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileOutboxEntry {
+
+    public enum Action {
+        ADD, REMOVE
+    }
+
+    @PrimaryKeyColumn(name = "bucket", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private Integer bucket;
+
+    @PrimaryKeyColumn(name = "slot", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private Instant slot;
+
+    @PrimaryKeyColumn(name = "due", ordinal = 2, type = PrimaryKeyType.CLUSTERED)
+    private UUID due;
+
+    private UUID id;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("deck_id")
+    private String deckId;
+
+    private Action action;
+
+    private Integer attempts;
+
+    public static ProfileOutboxEntry create(Action action, Long userId, String deckId, int buckets,
+            Duration slotSize) {
+        var id = Uuids.timeBased();
+
+        return new ProfileOutboxEntry(Math.floorMod(deckId.hashCode(), buckets),
+                slot(Instant.ofEpochMilli(Uuids.unixTimestamp(id)), slotSize), id, id, userId, deckId, action, 0);
+    }
+
+    public static Instant slot(Instant time, Duration slotSize) {
+        var millis = time.toEpochMilli();
+
+        return Instant.ofEpochMilli(millis - Math.floorMod(millis, slotSize.toMillis()));
+    }
+
+    public ProfileOutboxEntry retry(int attempts, Instant due, Duration slotSize) {
+        return new ProfileOutboxEntry(bucket, slot(due, slotSize), TimeUuids.at(due), id, userId, deckId, action,
+                attempts);
+    }
+
+    public Instant dueAt() {
+        return Instant.ofEpochMilli(Uuids.unixTimestamp(due));
+    }
+}
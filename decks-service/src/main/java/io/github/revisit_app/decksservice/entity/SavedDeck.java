@@ -0,0 +1,28 @@
+package io.github.revisit_app.decksservice.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Table("user_saved_decks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedDeck {
+
+  @PrimaryKeyColumn(name = "user_id", type = PrimaryKeyType.PARTITIONED)
+  private Long userId;
+
+  @PrimaryKeyColumn(name = "deck_id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+  private String deckId;
+
+  @Column("saved_at")
+  private Instant savedAt;
+}
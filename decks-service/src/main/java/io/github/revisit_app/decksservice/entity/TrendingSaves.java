@@ -0,0 +1,26 @@
+package io.github.revisit_app.decksservice.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Table("trending_saves")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingSaves {
+
+    @PrimaryKeyColumn(name = "hour", type = PrimaryKeyType.PARTITIONED)
+    private Instant hour;
+
+    @PrimaryKeyColumn(name = "deck_id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private String deckId;
+
+    private Long saves;
+}
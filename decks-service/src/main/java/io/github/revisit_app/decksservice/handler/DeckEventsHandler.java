@@ -0,0 +1,51 @@
+package io.github.revisit_app.decksservice.handler;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import io.github.revisit_app.decksservice.service.DeckCache;
+import io.github.revisit_app.decksservice.service.DeckEventBus;
+import io.github.revisit_app.decksservice.service.DeckEventsProperties;
+import io.github.revisit_app.decksservice.util.DeckEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeckEventsHandler {
+
+  private final DeckEventBus bus;
+  private final DeckCache dc;
+  private final DeckEventsProperties properties;
+
+  // The stream ends after the deck's DELETED event. Heartbeat comments keep
+  // idle connections open through proxies.
+  public Mono<ServerResponse> handleGetEvents(ServerRequest request) {
+    var deckId = request.pathVariable("id");
+
+    return dc.get(deckId)
+        .flatMap(data -> {
+          log.info("Streaming events of deck: {}", deckId);
+          var events = bus.subscribe(deckId)
+              .map(event -> ServerSentEvent.builder(event)
+                  .event(event.getType().name())
+                  .build());
+          var heartbeats = Flux.interval(properties.getHeartbeatInterval())
+              .map(tick -> ServerSentEvent.<DeckEvent>builder().comment("heartbeat").build());
+          var stream = Flux.merge(events, heartbeats)
+              .takeUntil(sse -> sse.data() != null && sse.data().getType() == DeckEvent.Type.DELETED);
+
+          return ServerResponse.ok()
+              .contentType(MediaType.TEXT_EVENT_STREAM)
+              .body(BodyInserters.fromServerSentEvents(stream));
+        })
+        .switchIfEmpty(ServerResponse.notFound().build());
+  }
+}
@@ -2,20 +2,40 @@ package io.github.revisit_app.decksservice.handler;
 
 import java.net.URI;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
 import io.github.revisit_app.decksservice.entity.Deck;
 import io.github.revisit_app.decksservice.entity.UserUDT;
 import io.github.revisit_app.decksservice.exception.UserNotFoundException;
-import io.github.revisit_app.decksservice.repository.DeckRepo;
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.github.revisit_app.decksservice.service.AuthorResolver;
+import io.github.revisit_app.decksservice.service.DeckBatchLoader;
+import io.github.revisit_app.decksservice.service.DeckCache;
+import io.github.revisit_app.decksservice.service.DeckChangesProperties;
+import io.github.revisit_app.decksservice.service.DeckEventBus;
+import io.github.revisit_app.decksservice.service.DeckWriteCombiner;
+import io.github.revisit_app.decksservice.util.CardChanges;
+import io.github.revisit_app.decksservice.util.CardChangesResult;
+import io.github.revisit_app.decksservice.util.DeckBatchResult;
+import io.github.revisit_app.decksservice.util.DeckChanges;
 import io.github.revisit_app.decksservice.util.DeckData;
+import io.github.revisit_app.decksservice.util.DeckEvent;
+import io.github.revisit_app.decksservice.util.DeckImportResult;
 import io.github.revisit_app.decksservice.util.NewDeck;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,24 +46,78 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class DeckHandler {
 
-  private final DeckRepo dr;
-  private final WebClient.Builder wcb;
-  private final String userRegistrationServiceUrl = "localhost:8086/";
-  private final String userProfileServiceUrl = "localhost:8085/";
+  private static final int IMPORT_CONCURRENCY = 32;
+  private static final int MAX_CARD_CHANGES = 10_000;
+  private static final int DEFAULT_PAGE_SIZE = 50;
+  private static final int MAX_PAGE_SIZE = 1000;
+  private static final String NEXT_CURSOR_HEADER = "Next-Cursor";
+  private static final Set<String> FORK_FIELDS = Set.of("id", "author", "title", "desc", "dateCreated",
+      "dateUpdated", "numCards", "forkedFrom");
+
+  private final DeckStore dr;
+  private final DeckBatchLoader dbl;
+  private final DeckCache dc;
+  private final AuthorResolver ar;
+  private final DeckChangesProperties changesProperties;
+  private final DeckEventBus bus;
+  private final DeckWriteCombiner wc;
 
   public Mono<ServerResponse> handleGetDeck(ServerRequest request) {
     var deckId = request.pathVariable("id");
-    log.info("Getting deck: {}", deckId);
+    var fields = requestedFields(request);
+    if (!DeckData.isKnown(fields)) {
+      log.error("Unknown fields requested: {}", fields);
 
-    return dr.findById(deckId)
-        .flatMap(deck -> {
-          var data = new DeckData(deck);
+      return ServerResponse.badRequest().build();
+    }
+    log.info("Getting deck: {}", deckId);
 
-          return ServerResponse.ok().bodyValue(data);
+    // Validators come from the cached deck, so polls that match are answered
+    // with 304 without reading the deck or writing its cards.
+    return dc.get(deckId, fields)
+        .flatMap(data -> {
+          var etag = data.etag(fields);
+          var lastModified = data.lastModified(fields);
+
+          return lastModified.map(modified -> request.checkNotModified(modified, etag))
+              .orElseGet(() -> request.checkNotModified(etag))
+              .switchIfEmpty(Mono.defer(() -> {
+                var response = ServerResponse.ok().eTag(etag);
+                lastModified.ifPresent(response::lastModified);
+
+                return response.bodyValue(data.project(fields));
+              }));
         })
         .switchIfEmpty(ServerResponse.notFound().build());
   }
 
+  public Mono<ServerResponse> handleBatchGetDecks(ServerRequest request) {
+    var fields = requestedFields(request);
+    if (!DeckData.isKnown(fields)) {
+      log.error("Unknown fields requested: {}", fields);
+
+      return ServerResponse.badRequest().build();
+    }
+    Mono<List<String>> ids = request.method() == HttpMethod.POST
+        ? request.bodyToMono(new ParameterizedTypeReference<List<String>>() {})
+        : Mono.justOrEmpty(request.queryParam("ids")).map(DeckHandler::splitList);
+
+    return ids
+        .flatMap(deckIds -> {
+          if (deckIds.isEmpty() || deckIds.size() > DeckBatchLoader.MAX_IDS) {
+            log.error("Batch must contain between 1 and {} deck ids", DeckBatchLoader.MAX_IDS);
+
+            return ServerResponse.badRequest().build();
+          }
+          log.info("Getting {} decks", deckIds.size());
+
+          return ServerResponse.ok()
+              .contentType(MediaType.APPLICATION_NDJSON)
+              .body(dbl.load(deckIds, fields), DeckBatchResult.class);
+        })
+        .switchIfEmpty(ServerResponse.badRequest().build());
+  }
+
   public Mono<ServerResponse> handleCreateDeck(ServerRequest request) {
     if (request.headers().header("userId").isEmpty() || request.headers().header("userId").get(0).isBlank()) {
       log.error("userId header is missing");
@@ -61,42 +135,14 @@ public class DeckHandler {
 
     return request.bodyToMono(NewDeck.class)
         .flatMap(cd -> {
-          return wcb.build()
-              .get()
-              .uri(userRegistrationServiceUrl + userId)
-              .retrieve()
-              .onStatus(HttpStatus::is4xxClientError, res -> Mono.error(new UserNotFoundException()))
-              .bodyToMono(UserUDT.class)
+          return ar.resolve(userId)
               .flatMap(author -> {
-                Deck deck = new Deck(
-                    UUID.randomUUID().toString(),
-                    author,
-                    cd.getTitle(),
-                    cd.getDesc(),
-                    Instant.now(),
-                    Instant.now(),
-                    Long.valueOf(0),
-                    Long.valueOf(0),
-                    new ArrayList<>(),
-                    new ArrayList<>());
-
-                return wcb.build()
-                    .put()
-                    .uri(userProfileServiceUrl + userId + "/decks")
-                    .header("deckId", deck.getId())
-                    .retrieve()
-                    .toBodilessEntity()
-                    .flatMap(res -> {
-                      log.info("Creating deck: {}", deck.getId());
-
-                      return dr.save(deck)
-                          .flatMap(sd -> ServerResponse.created(URI.create(request.uri() + deck.getId())).build());
-                    })
-                    .onErrorResume(error -> {
-                      log.error("Could not add deck: {} to user: {} 's profile", deck.getId(), userId);
+                Deck deck = newDeck(author, cd);
+                log.info("Creating deck: {}", deck.getId());
 
-                      return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-                    });
+                return dr.createDeck(deck, userId)
+                    .doOnNext(sd -> bus.publish(DeckEvent.created(sd.getId())))
+                    .flatMap(sd -> ServerResponse.created(URI.create(request.uri() + deck.getId())).build());
               })
               .onErrorResume(error -> {
                 if (error instanceof UserNotFoundException) {
@@ -111,6 +157,99 @@ public class DeckHandler {
         });
   }
 
+  public Mono<ServerResponse> handleImportDecks(ServerRequest request) {
+    if (request.headers().header("userId").isEmpty() || request.headers().header("userId").get(0).isBlank()) {
+      log.error("userId header is missing");
+
+      return ServerResponse.badRequest().build();
+    }
+    Long userId;
+    try {
+      userId = Long.valueOf(request.headers().header("userId").get(0));
+    } catch (NumberFormatException nfe) {
+      log.error("Could not parse userId to Long");
+
+      return ServerResponse.badRequest().build();
+    }
+
+    return ar.resolve(userId)
+        .flatMap(author -> {
+          log.info("Importing decks for user: {}", userId);
+          var results = request.bodyToFlux(NewDeck.class)
+              .index()
+              .flatMapSequential(t -> importDeck(t.getT1(), t.getT2(), author, userId), IMPORT_CONCURRENCY)
+              .onErrorResume(error -> {
+                log.error("Could not read import records for user: {}", userId, error);
+
+                return Mono.just(DeckImportResult.failed(-1, "malformed import record"));
+              });
+
+          return ServerResponse.ok()
+              .contentType(MediaType.APPLICATION_NDJSON)
+              .body(results, DeckImportResult.class);
+        })
+        .onErrorResume(error -> {
+          if (error instanceof UserNotFoundException) {
+            log.error("User: {} does not exist", userId);
+
+            return ServerResponse.notFound().build();
+          } else {
+            log.error("Something went wrong. Could not verify user: {}", userId);
+            return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+          }
+        });
+  }
+
+  // Copies the source deck's title, description and cards into a new deck of
+  // the calling user in one write, so a fork costs the same whatever the deck
+  // size. Saves are not copied; the fork records the source's id instead.
+  public Mono<ServerResponse> handleForkDeck(ServerRequest request) {
+    if (request.headers().header("userId").isEmpty() || request.headers().header("userId").get(0).isBlank()) {
+      log.error("userId header is missing");
+
+      return ServerResponse.badRequest().build();
+    }
+    Long userId;
+    try {
+      userId = Long.valueOf(request.headers().header("userId").get(0));
+    } catch (NumberFormatException nfe) {
+      log.error("Could not parse userId to Long");
+
+      return ServerResponse.badRequest().build();
+    }
+    var deckId = request.pathVariable("id");
+
+    // findCards also reads the cards of decks still on the legacy column.
+    return dr.findById(deckId)
+        .zipWith(dr.findCards(deckId), (source, cards) -> {
+          source.setCards(cards);
+
+          return source;
+        })
+        .flatMap(source -> ar.resolve(userId)
+            .flatMap(author -> {
+              var fork = forkDeck(author, source);
+              log.info("Forking deck: {} into: {}", deckId, fork.getId());
+
+              return dr.createDeck(fork, userId)
+                  .doOnNext(fd -> bus.publish(DeckEvent.created(fd.getId())))
+                  .flatMap(fd -> ServerResponse
+                      .created(request.uriBuilder().replacePath("/{id}").build(fd.getId()))
+                      .bodyValue(new DeckData(fd, 0L).project(FORK_FIELDS)));
+            })
+            .onErrorResume(error -> {
+              if (error instanceof UserNotFoundException) {
+                log.error("User: {} does not exist", userId);
+
+                return ServerResponse.notFound().build();
+              } else {
+                log.error("Something went wrong. Could not fork deck: {} for user: {}", deckId, userId);
+                return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+              }
+            }))
+        .switchIfEmpty(ServerResponse.notFound().build());
+  }
+
   public Mono<ServerResponse> handleUpdateDeck(ServerRequest request) {
     if (request.headers().header("userId").isEmpty() || request.headers().header("userId").get(0).isBlank()) {
       log.error("userId header is missing");
@@ -130,24 +269,62 @@ public class DeckHandler {
     return request.bodyToMono(NewDeck.class)
         .flatMap(data -> dr.findById(deckId)
             .flatMap(od -> {
-              if (od.getAuthor().getId() != userId) {
+              if (!userId.equals(od.getAuthor().getId())) {
                 log.error("User: {} is not the author of deck: {}", userId, deckId);
 
                 return ServerResponse.status(HttpStatus.FORBIDDEN).build();
               } else {
-                od.setTitle(data.getTitle());
-                od.setDesc(data.getDesc());
-                od.setDateUpdated(Instant.now());
                 log.info("Updating deck: {}", od.getId());
 
-                return dr.save(od)
-                    .flatMap(nd -> ServerResponse.created(URI.create(request.uri().toString()))
-                        .build());
+                return wc.updateDeck(od, data.getTitle(), data.getDesc(), Instant.now())
+                    .doOnSuccess(applied -> {
+                      dc.invalidate(deckId);
+                      if (Boolean.TRUE.equals(applied)) {
+                        bus.publish(DeckEvent.updated(deckId));
+                      }
+                    })
+                    .flatMap(applied -> applied
+                        ? ServerResponse.created(URI.create(request.uri().toString())).build()
+                        : ServerResponse.notFound().build());
               }
             }))
         .switchIfEmpty(ServerResponse.notFound().build());
   }
 
+  public Mono<ServerResponse> handleGetDecksByAuthor(ServerRequest request) {
+    Long authorId;
+    int limit;
+    try {
+      authorId = Long.valueOf(request.pathVariable("userId"));
+      limit = request.queryParam("limit").map(Integer::valueOf).orElse(DEFAULT_PAGE_SIZE);
+    } catch (NumberFormatException nfe) {
+      log.error("Could not parse userId or limit");
+
+      return ServerResponse.badRequest().build();
+    }
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      log.error("limit must be between 1 and {}", MAX_PAGE_SIZE);
+
+      return ServerResponse.badRequest().build();
+    }
+    var cursor = request.queryParam("cursor").orElse(null);
+    log.info("Getting decks by author: {}", authorId);
+
+    return dr.findDecksByAuthor(authorId, limit, cursor)
+        .flatMap(page -> {
+          var response = ServerResponse.ok();
+          if (page.getNext() != null)
+            response.header(NEXT_CURSOR_HEADER, page.getNext());
+
+          return response.bodyValue(page.getItems());
+        })
+        .onErrorResume(IllegalArgumentException.class, error -> {
+          log.error("Invalid cursor for author: {}", authorId);
+
+          return ServerResponse.badRequest().build();
+        });
+  }
+
   public Mono<ServerResponse> handleDeleteDeck(ServerRequest request) {
     if (request.headers().header("userId").isEmpty() || request.headers().header("userId").get(0).isBlank()) {
       log.error("userId header is missing");
@@ -166,35 +343,20 @@ public class DeckHandler {
 
     return dr.findById(deckId)
         .flatMap(deck -> {
-          if (deck.getAuthor().getId() != userId) {
+          if (!userId.equals(deck.getAuthor().getId())) {
             log.error("User: {} is not the author of deck: {}", userId, deckId);
 
             return ServerResponse.status(HttpStatus.FORBIDDEN).build();
           } else {
+            log.info("Deleting deck: {}", deckId);
 
-            return wcb.build()
-                .delete()
-                .uri(userProfileServiceUrl + userId + "/decks")
-                .header("deckId", deckId)
-                .retrieve()
-                .toBodilessEntity()
-                .flatMap(res -> {
-                  if (res.getStatusCode() == HttpStatus.OK) {
-                    log.info("Deleting deck: {}", deckId);
-
-                    return dr.delete(deck).flatMap(
-                        d -> ServerResponse.noContent().build());
-                  } else {
-                    log.info("Deleting deck: {}", deckId);
-
-                    return dr.delete(deck).flatMap(
-                        d -> ServerResponse.noContent().build());
-                  }
+            return dr.deleteDeck(deck, userId)
+                .then(dr.deleteSaves(deckId))
+                .doOnSuccess(d -> {
+                  dc.invalidate(deckId);
+                  bus.publish(DeckEvent.deleted(deckId));
                 })
-                .onErrorResume(error -> {
-                  log.error("Could not delete card from user: {} 's profile", userId);
-                  return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-                });
+                .then(ServerResponse.noContent().build());
           }
         });
   }
@@ -208,26 +370,97 @@ public class DeckHandler {
     var cardId = request.headers().header("cardId").get(0);
     var deckId = request.pathVariable("id");
 
-    return dr.findById(deckId)
-        .flatMap(deck -> {
-          var cardIds = deck.getCards();
-          var numCards = deck.getNumCards();
-          if (cardIds == null)
-            cardIds = new ArrayList<>();
-          if (!cardIds.contains(cardId)) {
-            cardIds.add(cardId);
-            numCards += 1;
-            deck.setNumCards(numCards);
-            deck.setCards(cardIds);
+    return wc.updateCards(deckId, Set.of(cardId), Set.of())
+        .flatMap(changed -> {
+          if (changed) {
             log.info("Adding card: {} to deck: {}", cardId, deckId);
+            dc.invalidate(deckId);
+            bus.publish(DeckEvent.cards(deckId, Set.of(cardId), Set.of()));
 
-            return dr.save(deck).flatMap(ud -> ServerResponse.created(URI.create(request.uri() + deckId)).build());
+            return ServerResponse.created(URI.create(request.uri() + deckId)).build();
           } else {
             log.info("Card: {} is already in deck: {}", cardId, deckId);
 
             return ServerResponse.noContent().build();
           }
         })
+        .switchIfEmpty(Mono.defer(() -> deckNotFound(deckId)));
+  }
+
+  public Mono<ServerResponse> handleUpdateCards(ServerRequest request) {
+    var deckId = request.pathVariable("id");
+
+    return request.bodyToMono(CardChanges.class)
+        .flatMap(changes -> {
+          var size = (changes.getAdd() == null ? 0 : changes.getAdd().size())
+              + (changes.getRemove() == null ? 0 : changes.getRemove().size());
+          if (size > MAX_CARD_CHANGES) {
+            log.error("Too many card changes for deck: {}", deckId);
+
+            return ServerResponse.badRequest().build();
+          }
+
+          return dr.findCards(deckId)
+              .flatMap(existing -> {
+                var result = CardChangesResult.of(existing, changes);
+                if (result.getAdded().isEmpty() && result.getRemoved().isEmpty())
+                  return ServerResponse.ok().bodyValue(result);
+                log.info("Adding {} and removing {} cards in deck: {}", result.getAdded().size(),
+                    result.getRemoved().size(), deckId);
+
+                return wc.updateCards(deckId, result.getAdded(), result.getRemoved())
+                    .flatMap(changed -> {
+                      if (changed) {
+                        dc.invalidate(deckId);
+                        bus.publish(DeckEvent.cards(deckId, result.getAdded(), result.getRemoved()));
+                      }
+
+                      return ServerResponse.ok().bodyValue(result);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> deckNotFound(deckId)));
+              })
+              .switchIfEmpty(ServerResponse.notFound().build());
+        })
+        .switchIfEmpty(ServerResponse.badRequest().build());
+  }
+
+  public Mono<ServerResponse> handleGetChanges(ServerRequest request) {
+    var deckId = request.pathVariable("id");
+    if (request.queryParam("since").isEmpty())
+      return changesSnapshot(deckId);
+    UUID since;
+    try {
+      since = UUID.fromString(request.queryParam("since").get());
+      if (since.version() != 1)
+        throw new IllegalArgumentException("Not a time-based UUID");
+    } catch (IllegalArgumentException iae) {
+      log.error("since is not a deck version");
+
+      return ServerResponse.badRequest().build();
+    }
+    // Log entries outlive every older entry, so a version within the retention
+    // period is followed by a complete log.
+    var retained = Instant.now().minus(changesProperties.getRetention());
+    if (Instant.ofEpochMilli(Uuids.unixTimestamp(since)).isBefore(retained)) {
+      log.info("Changes of deck: {} since {} are compacted", deckId, since);
+
+      return changesSnapshot(deckId);
+    }
+    var maxEntries = changesProperties.getMaxEntries();
+
+    return dr.findDeckData(deckId, Set.of())
+        .flatMap(data -> {
+          if (since.equals(data.getVersion()))
+            return ServerResponse.ok().bodyValue(DeckChanges.delta(since, List.of()));
+
+          return dr.findCardChanges(deckId, since, maxEntries + 1)
+              .collectList()
+              .flatMap(changes -> changes.size() > maxEntries
+                  ? changesSnapshot(deckId)
+                  : DeckChanges.chain(since, data.getVersion(), changes)
+                      .map(chain -> ServerResponse.ok().bodyValue(DeckChanges.delta(since, chain)))
+                      .orElseGet(() -> changesSnapshot(deckId)));
+        })
         .switchIfEmpty(ServerResponse.notFound().build());
   }
 
@@ -240,26 +473,92 @@ public class DeckHandler {
     var cardId = request.headers().header("cardId").get(0);
     var deckId = request.pathVariable("id");
 
-    return dr.findById(deckId)
-        .flatMap(deck -> {
-          var cardIds = deck.getCards();
-          var numCards = deck.getNumCards();
-          if (cardIds == null)
-            cardIds = new ArrayList<>();
-          if (cardIds.contains(cardId) && numCards > 0) {
-            cardIds.remove(cardId);
-            numCards -= 1;
-            deck.setNumCards(numCards);
-            deck.setCards(cardIds);
+    return wc.updateCards(deckId, Set.of(), Set.of(cardId))
+        .flatMap(changed -> {
+          if (changed) {
             log.info("Removing card: {} from deck: {}", cardId, deckId);
-
-            return dr.save(deck).flatMap(ud -> ServerResponse.noContent().build());
+            dc.invalidate(deckId);
+            bus.publish(DeckEvent.cards(deckId, Set.of(), Set.of(cardId)));
           } else {
-            log.info("Deck: {} does not contain card: {}", cardId, deckId);
-
-            return ServerResponse.noContent().build();
+            log.info("Card: {} is not in deck: {}", cardId, deckId);
           }
+
+          return ServerResponse.noContent().build();
         })
+        .switchIfEmpty(Mono.defer(() -> deckNotFound(deckId)));
+  }
+
+  // A deck that is gone may still be cached.
+  private Mono<ServerResponse> deckNotFound(String deckId) {
+    log.error("Deck: {} does not exist", deckId);
+    dc.invalidate(deckId);
+
+    return ServerResponse.notFound().build();
+  }
+
+  // A snapshot from the cache may be stale, but its version is then older too,
+  // so the next delta request replays the missed changes.
+  private Mono<ServerResponse> changesSnapshot(String deckId) {
+    return dc.get(deckId)
+        .flatMap(data -> ServerResponse.ok().bodyValue(DeckChanges.snapshot(data)))
         .switchIfEmpty(ServerResponse.notFound().build());
   }
+
+  private static Set<String> requestedFields(ServerRequest request) {
+    return request.queryParam("fields")
+        .map(DeckHandler::splitList)
+        .<Set<String>>map(HashSet::new)
+        .orElse(DeckData.FIELDS);
+  }
+
+  private static List<String> splitList(String value) {
+    return Arrays.stream(value.split(","))
+        .map(String::trim)
+        .filter(item -> !item.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  private Mono<DeckImportResult> importDeck(long index, NewDeck nd, UserUDT author, Long userId) {
+    if (nd.getTitle() == null || nd.getTitle().isBlank())
+      return Mono.just(DeckImportResult.failed(index, "title is required"));
+
+    return dr.createDeck(newDeck(author, nd), userId)
+        .doOnNext(deck -> bus.publish(DeckEvent.created(deck.getId())))
+        .map(deck -> DeckImportResult.created(index, deck.getId()))
+        .onErrorResume(error -> {
+          log.error("Could not import record: {} for user: {}", index, userId, error);
+
+          return Mono.just(DeckImportResult.failed(index, "could not save deck"));
+        });
+  }
+
+  private static Deck forkDeck(UserUDT author, Deck source) {
+    var now = Instant.now();
+
+    return new Deck(
+        UUID.randomUUID().toString(),
+        author,
+        source.getTitle(),
+        source.getDesc(),
+        now,
+        now,
+        source.getCards() == null ? new HashSet<>() : new HashSet<>(source.getCards()),
+        Uuids.timeBased(),
+        source.getId());
+  }
+
+  private static Deck newDeck(UserUDT author, NewDeck nd) {
+    var now = Instant.now();
+
+    return new Deck(
+        UUID.randomUUID().toString(),
+        author,
+        nd.getTitle(),
+        nd.getDesc(),
+        now,
+        now,
+        nd.getCards() == null ? new HashSet<>() : new HashSet<>(nd.getCards()),
+        Uuids.timeBased(),
+        null);
+  }
 }
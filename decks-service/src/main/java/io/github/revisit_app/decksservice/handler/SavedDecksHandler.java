@@ -1,15 +1,23 @@
 package io.github.revisit_app.decksservice.handler;
 
-import java.util.ArrayList;
-
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
-import io.github.revisit_app.decksservice.repository.DeckRepo;
-import io.github.revisit_app.decksservice.repository.SavedDecksRepo;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.github.revisit_app.decksservice.repository.SavedDecksStore;
+import io.github.revisit_app.decksservice.service.DeckBatchLoader;
+import io.github.revisit_app.decksservice.service.DeckCache;
+import io.github.revisit_app.decksservice.service.DeckSearchIndex;
+import io.github.revisit_app.decksservice.service.TrendingDecks;
+import io.github.revisit_app.decksservice.util.DeckBatchResult;
+import io.github.revisit_app.decksservice.util.DeckData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
@@ -17,8 +25,15 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class SavedDecksHandler {
 
-  private final SavedDecksRepo sdr;
-  private final DeckRepo dr;
+  private static final int MAX_PAGE_SIZE = 1000;
+  private static final String NEXT_CURSOR_HEADER = "Next-Cursor";
+
+  private final SavedDecksStore sdr;
+  private final DeckStore dr;
+  private final DeckBatchLoader dbl;
+  private final DeckCache dc;
+  private final TrendingDecks td;
+  private final DeckSearchIndex dsi;
 
   public Mono<ServerResponse> handleGetSavedDecks(ServerRequest request) {
     if (request.headers().header("userId").isEmpty() || request.headers().header("userId").get(0).isBlank()) {
@@ -34,17 +49,41 @@ public class SavedDecksHandler {
 
       return ServerResponse.badRequest().build();
     }
+    var expand = request.queryParam("expand").map(Boolean::parseBoolean).orElse(false);
+    var cursor = request.queryParam("cursor").orElse(null);
+    Integer limit = null;
+    if (request.queryParam("limit").isPresent()) {
+      try {
+        limit = Integer.valueOf(request.queryParam("limit").get());
+      } catch (NumberFormatException nfe) {
+        log.error("Could not parse limit to Integer");
+
+        return ServerResponse.badRequest().build();
+      }
+      if (limit < 1 || limit > MAX_PAGE_SIZE) {
+        log.error("limit must be between 1 and {}", MAX_PAGE_SIZE);
+
+        return ServerResponse.badRequest().build();
+      }
+    }
     log.info("Getting saved decks for user: {}", userId);
 
-    return sdr.findById(userId)
-        .flatMap(sd -> {
-          var savedDecks = sd.getSaved_decks();
-          if (savedDecks != null)
-            return ServerResponse.ok().bodyValue(savedDecks);
-          else
-            return ServerResponse.ok().bodyValue(new ArrayList<>());
+    if (limit == null)
+      return savedDecksResponse(ServerResponse.ok(), sdr.findSavedDeckIds(userId), expand);
+
+    return sdr.findSavedDecksPage(userId, limit, cursor)
+        .flatMap(page -> {
+          var response = ServerResponse.ok();
+          if (page.getNext() != null)
+            response.header(NEXT_CURSOR_HEADER, page.getNext());
+
+          return savedDecksResponse(response, Flux.fromIterable(page.getItems()), expand);
         })
-        .switchIfEmpty(ServerResponse.notFound().build());
+        .onErrorResume(IllegalArgumentException.class, error -> {
+          log.error("Invalid saved decks cursor for user: {}", userId);
+
+          return ServerResponse.badRequest().build();
+        });
   }
 
   public Mono<ServerResponse> handleAddDeck(ServerRequest request) {
@@ -63,50 +102,34 @@ public class SavedDecksHandler {
     }
     var deckId = request.pathVariable("id");
 
-    return dr.findById(deckId)
-        .flatMap(deck -> {
+    return dr.findAuthor(deckId)
+        .flatMap(author -> {
           log.info("Deck: {} verified", deckId);
 
-          if (deck.getAuthor().getId() == userId) {
+          if (userId.equals(author.getId())) {
             log.info("User is the author of the deck: {}. Deck is already saved.", deckId);
 
             return ServerResponse.noContent().build();
           } else {
-            var savedBy = deck.getSavedBy();
-            var numSaves = deck.getNumSaves();
-
-            if (savedBy == null) {
-              savedBy = new ArrayList<>();
-            }
-            if (!savedBy.contains(userId)) {
-              savedBy.add(userId);
-              deck.setSavedBy(savedBy);
-              numSaves += 1;
-              deck.setNumSaves(numSaves);
-              log.info("User: {} saved card: {}", userId, deckId);
-
-              return dr.save(deck)
-                  .flatMap(ud -> {
-
-                    return sdr.findById(userId)
-                        .flatMap(sd -> {
-                          var savedDecks = sd.getSaved_decks();
-                          if (savedDecks == null) {
-                            savedDecks = new ArrayList<>();
-                          }
-                          log.info("Saving deck: {} for user: {}", deckId, userId);
-                          savedDecks.add(deckId);
-                          sd.setSaved_decks(savedDecks);
-
-                          return sdr.save(sd)
-                              .flatMap(ok -> ServerResponse.ok().build());
-                        });
-                  });
-            } else {
-              log.info("Deck: {} is already saved by user: {}", deckId, userId);
-
-              return ServerResponse.noContent().build();
-            }
+            log.info("Saving deck: {} for user: {}", deckId, userId);
+
+            return sdr.saveDeck(userId, deckId)
+                .doOnSuccess(saved -> {
+                  if (Boolean.TRUE.equals(saved)) {
+                    dc.addSaves(deckId, 1);
+                    td.record(deckId, 1);
+                    dsi.addSaves(deckId, 1);
+                  }
+                })
+                .flatMap(saved -> {
+                  if (saved) {
+                    return ServerResponse.ok().build();
+                  } else {
+                    log.info("Deck: {} is already saved by user: {}", deckId, userId);
+
+                    return ServerResponse.noContent().build();
+                  }
+                });
           }
         })
         .switchIfEmpty(ServerResponse.notFound().build());
@@ -127,41 +150,45 @@ public class SavedDecksHandler {
       return ServerResponse.badRequest().build();
     }
     var deckId = request.pathVariable("id");
+    log.info("Removing deck: {} for user: {}", deckId, userId);
+
+    return sdr.unsaveDeck(userId, deckId)
+        .doOnSuccess(removed -> {
+          if (Boolean.TRUE.equals(removed)) {
+            dc.addSaves(deckId, -1);
+            td.record(deckId, -1);
+            dsi.addSaves(deckId, -1);
+          }
+        })
+        .flatMap(removed -> {
+          if (removed) {
+            return ServerResponse.ok().build();
+          } else {
+            log.error("Deck: {} is not saved by user: {}", deckId, userId);
+
+            return ServerResponse.badRequest().build();
+          }
+        });
+  }
+
+  private Mono<ServerResponse> savedDecksResponse(ServerResponse.BodyBuilder response, Flux<String> deckIds,
+      boolean expand) {
+    if (expand)
+      return response.contentType(MediaType.APPLICATION_NDJSON)
+          .body(dbl.load(deckIds, DeckData.FIELDS), DeckBatchResult.class);
+    else
+      return response.contentType(MediaType.APPLICATION_JSON)
+          .body(jsonArray(deckIds), String.class);
+  }
 
-    return dr.findById(deckId)
-        .flatMap(
-            deck -> {
-              log.info("Deck: {} verified", deckId);
-              var savedBy = deck.getSavedBy();
-              var numSaves = deck.getNumSaves();
-              if (savedBy != null && savedBy.contains(userId) && numSaves > 0) {
-                savedBy.remove(userId);
-                deck.setSavedBy(savedBy);
-                numSaves -= 1;
-                deck.setNumSaves(numSaves);
-                log.info("Removing deck: {} for user: {}", deckId, userId);
-
-                return dr.save(deck)
-                    .flatMap(ud -> {
-
-                      return sdr.findById(userId)
-                          .flatMap(sd -> {
-                            var savedDecks = sd.getSaved_decks();
-                            if (savedDecks == null) {
-                              savedDecks = new ArrayList<>();
-                            }
-                            savedDecks.remove(deckId);
-                            sd.setSaved_decks(savedDecks);
-
-                            return sdr.save(sd)
-                                .flatMap(ok -> ServerResponse.ok().build());
-                          });
-                    });
-              } else {
-                log.error("Deck: {} is not saved by user: {}", deckId, userId);
-
-                return ServerResponse.badRequest().build();
-              }
-            });
+  // The JSON encoder collects a Flux into a list before writing it as an
+  // array, so a user's full list would be held in memory. The array is framed
+  // here instead and written as the ids are read; the ids are quoted and
+  // escaped as JSON text nodes.
+  private static Flux<String> jsonArray(Flux<String> deckIds) {
+    return deckIds.index()
+        .map(deckId -> (deckId.getT1() == 0 ? "[" : ",") + TextNode.valueOf(deckId.getT2()))
+        .switchIfEmpty(Mono.just("["))
+        .concatWithValues("]");
   }
 }
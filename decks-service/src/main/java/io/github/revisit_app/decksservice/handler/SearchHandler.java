@@ -0,0 +1,66 @@
+package io.github.revisit_app.decksservice.handler;
+
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import io.github.revisit_app.decksservice.service.DeckCache;
+import io.github.revisit_app.decksservice.service.DeckSearchIndex;
+import io.github.revisit_app.decksservice.service.SearchProperties;
+import io.github.revisit_app.decksservice.util.DeckBatchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchHandler {
+
+  private static final int DEFAULT_LIMIT = 20;
+  private static final Set<String> RESULT_FIELDS = Set.of("id", "author", "title", "desc", "dateUpdated",
+      "numCards", "numSaves");
+
+  private final DeckSearchIndex dsi;
+  private final DeckCache dc;
+  private final SearchProperties properties;
+
+  public Mono<ServerResponse> handleSearch(ServerRequest request) {
+    var query = request.queryParam("q").orElse("");
+    if (query.isBlank()) {
+      log.error("q is missing");
+
+      return ServerResponse.badRequest().build();
+    }
+    int limit;
+    try {
+      limit = request.queryParam("limit").map(Integer::valueOf).orElse(DEFAULT_LIMIT);
+    } catch (NumberFormatException nfe) {
+      log.error("Could not parse limit to Integer");
+
+      return ServerResponse.badRequest().build();
+    }
+    if (limit < 1 || limit > properties.getMaxResults()) {
+      log.error("limit must be between 1 and {}", properties.getMaxResults());
+
+      return ServerResponse.badRequest().build();
+    }
+    var hits = dsi.search(query, limit);
+    if (!request.queryParam("expand").map(Boolean::parseBoolean).orElse(false))
+      return ServerResponse.ok().bodyValue(hits);
+
+    // Expanded results keep the ranking order.
+    var decks = Flux.fromIterable(hits)
+        .flatMapSequential(hit -> dc.get(hit.getId())
+            .map(deck -> DeckBatchResult.found(deck.project(RESULT_FIELDS)))
+            .defaultIfEmpty(DeckBatchResult.missing(hit.getId())));
+
+    return ServerResponse.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(decks, DeckBatchResult.class);
+  }
+}
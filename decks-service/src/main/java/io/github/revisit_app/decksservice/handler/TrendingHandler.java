@@ -0,0 +1,45 @@
+package io.github.revisit_app.decksservice.handler;
+
+import java.util.Locale;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import io.github.revisit_app.decksservice.service.TrendingDecks;
+import io.github.revisit_app.decksservice.service.TrendingProperties;
+import io.github.revisit_app.decksservice.util.TrendingWindow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingHandler {
+
+  private static final int DEFAULT_LIMIT = 50;
+
+  private final TrendingDecks td;
+  private final TrendingProperties properties;
+
+  public Mono<ServerResponse> handleGetTrending(ServerRequest request) {
+    TrendingWindow window;
+    int limit;
+    try {
+      window = TrendingWindow.valueOf(request.queryParam("window").orElse("day").toUpperCase(Locale.ROOT));
+      limit = request.queryParam("limit").map(Integer::valueOf).orElse(DEFAULT_LIMIT);
+    } catch (IllegalArgumentException iae) {
+      log.error("Could not parse window or limit");
+
+      return ServerResponse.badRequest().build();
+    }
+    if (limit < 1 || limit > properties.getMaxEntries()) {
+      log.error("limit must be between 1 and {}", properties.getMaxEntries());
+
+      return ServerResponse.badRequest().build();
+    }
+
+    return ServerResponse.ok().bodyValue(td.top(window, limit));
+  }
+}
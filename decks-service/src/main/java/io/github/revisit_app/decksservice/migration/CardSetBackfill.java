@@ -0,0 +1,53 @@
+package io.github.revisit_app.decksservice.migration;
+
+import java.util.HashSet;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Component;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+// Moves the legacy deck.cards list into the card_set column, dropping
+// duplicates, and clears the list. The move is conditional on the list being
+// unchanged, so it is safe to run repeatedly and next to card edits, which
+// move a deck's list themselves. Once it has completed, legacy-cards can be
+// turned off and the cards and num_cards columns dropped.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "decks.migration", name = "backfill-card-set", havingValue = "true")
+@RequiredArgsConstructor
+public class CardSetBackfill implements ApplicationRunner {
+
+  private static final String SELECT_CARDS = "SELECT id, cards FROM deck";
+  private static final String MIGRATE_CARDS = "UPDATE deck SET card_set = card_set + ?, cards = null WHERE id = ? IF cards = ?";
+
+  private final ReactiveCassandraOperations ops;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    log.info("Backfilling deck.card_set from deck.cards");
+
+    var decks = ops.getReactiveCqlOperations()
+        .queryForRows(SELECT_CARDS)
+        .filter(row -> !row.isNull("cards"))
+        .flatMap(this::backfill, 32)
+        .count()
+        .block();
+
+    log.info("Backfilled cards of {} decks", decks);
+  }
+
+  private Mono<Boolean> backfill(Row row) {
+    var cards = row.getList("cards", String.class);
+
+    return ops.getReactiveCqlOperations()
+        .execute(MIGRATE_CARDS, new HashSet<>(cards), row.getString("id"), cards);
+  }
+}
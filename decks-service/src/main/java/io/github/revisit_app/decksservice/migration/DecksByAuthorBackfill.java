@@ -0,0 +1,49 @@
+package io.github.revisit_app.decksservice.migration;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Component;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+// Populates the decks_by_author listing table from the existing deck rows.
+// Safe to run repeatedly; rows are keyed by the deck's current date_updated.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "decks.migration", name = "backfill-decks-by-author", havingValue = "true")
+@RequiredArgsConstructor
+public class DecksByAuthorBackfill implements ApplicationRunner {
+
+  private static final String SELECT_DECKS = "SELECT id, author, title, description, date_updated FROM deck";
+  private static final String INSERT_AUTHOR_DECK = "INSERT INTO decks_by_author (author_id, date_updated, deck_id, title, description) VALUES (?, ?, ?, ?, ?)";
+
+  private final ReactiveCassandraOperations ops;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    log.info("Backfilling decks_by_author from deck");
+
+    var decks = ops.getReactiveCqlOperations()
+        .queryForRows(SELECT_DECKS)
+        .filter(row -> !row.isNull("author") && !row.isNull("date_updated"))
+        .flatMap(this::backfill, 32)
+        .count()
+        .block();
+
+    log.info("Backfilled {} decks", decks);
+  }
+
+  private Mono<Boolean> backfill(Row row) {
+    var authorId = row.getUdtValue("author").getLong("id");
+
+    return ops.getReactiveCqlOperations()
+        .execute(INSERT_AUTHOR_DECK, authorId, row.getInstant("date_updated"), row.getString("id"),
+            row.getString("title"), row.getString("description"));
+  }
+}
@@ -0,0 +1,26 @@
+package io.github.revisit_app.decksservice.migration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.migration")
+@Getter
+@Setter
+public class MigrationProperties {
+
+  private boolean backfillSaves;
+
+  private boolean backfillSavedDecks;
+
+  private boolean backfillDecksByAuthor;
+
+  private boolean backfillCardSet;
+
+  private boolean backfillProfileOutbox;
+
+  // Read the legacy deck.cards list alongside card_set and move it over on the
+  // first card edit. Turn off once CardSetBackfill has completed.
+  private boolean legacyCards = true;
+}
@@ -0,0 +1,60 @@
+package io.github.revisit_app.decksservice.migration;
+
+import java.time.Instant;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Component;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry;
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry.Action;
+import io.github.revisit_app.decksservice.service.ProfileOutboxProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+// Moves undelivered entries from the profile_outbox table, which was keyed by
+// bucket alone, into profile_outbox_due, due now. Entries keep their id, so
+// one delivered in the meantime is deduplicated by the profile service. Safe
+// to run repeatedly; once it has completed the profile_outbox table can be
+// dropped.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "decks.migration", name = "backfill-profile-outbox", havingValue = "true")
+@RequiredArgsConstructor
+public class ProfileOutboxBackfill implements ApplicationRunner {
+
+  private static final String SELECT_ENTRIES = "SELECT bucket, id, user_id, deck_id, action, attempts FROM profile_outbox";
+  private static final String DELETE_ENTRY = "DELETE FROM profile_outbox WHERE bucket = ? AND id = ?";
+
+  private final ReactiveCassandraOperations ops;
+  private final ProfileOutboxProperties properties;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    log.info("Backfilling profile_outbox_due from profile_outbox");
+
+    var entries = ops.getReactiveCqlOperations()
+        .queryForRows(SELECT_ENTRIES)
+        .flatMap(this::backfill, 32)
+        .count()
+        .block();
+
+    log.info("Backfilled {} outbox entries", entries);
+  }
+
+  private Mono<Boolean> backfill(Row row) {
+    var bucket = row.getInt("bucket");
+    var id = row.getUuid("id");
+    var entry = new ProfileOutboxEntry(bucket, null, null, id, row.getLong("user_id"), row.getString("deck_id"),
+        Action.valueOf(row.getString("action")), row.getInt("attempts"))
+        .retry(row.getInt("attempts"), Instant.now(), properties.getSlotSize());
+
+    return ops.insert(entry)
+        .then(ops.getReactiveCqlOperations().execute(DELETE_ENTRY, bucket, id));
+  }
+}
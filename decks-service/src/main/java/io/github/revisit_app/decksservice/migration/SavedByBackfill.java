@@ -0,0 +1,69 @@
+package io.github.revisit_app.decksservice.migration;
+
+import java.util.Collection;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Component;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Copies the legacy deck.saved_by column into deck_saves and reconciles
+// deck_counters with the resulting partition size. Safe to run repeatedly;
+// once it has completed the saved_by column can be dropped.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "decks.migration", name = "backfill-saves", havingValue = "true")
+@RequiredArgsConstructor
+public class SavedByBackfill implements ApplicationRunner {
+
+  private static final String SELECT_SAVED_BY = "SELECT id, saved_by FROM deck";
+  private static final String INSERT_SAVE = "INSERT INTO deck_saves (deck_id, user_id) VALUES (?, ?)";
+  private static final String COUNT_SAVERS = "SELECT COUNT(*) FROM deck_saves WHERE deck_id = ?";
+  private static final String COUNT_SAVES = "SELECT num_saves FROM deck_counters WHERE deck_id = ?";
+  private static final String UPDATE_SAVES = "UPDATE deck_counters SET num_saves = num_saves + ? WHERE deck_id = ?";
+
+  private final ReactiveCassandraOperations ops;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    log.info("Backfilling deck_saves from deck.saved_by");
+
+    var decks = ops.getReactiveCqlOperations()
+        .queryForRows(SELECT_SAVED_BY)
+        .filter(row -> !row.isNull("saved_by"))
+        .flatMap(this::backfill, 8)
+        .count()
+        .block();
+
+    log.info("Backfilled saves for {} decks", decks);
+  }
+
+  private Mono<Void> backfill(Row row) {
+    var cql = ops.getReactiveCqlOperations();
+    var deckId = row.getString("id");
+    @SuppressWarnings("unchecked")
+    var savers = (Collection<Long>) row.getObject("saved_by");
+
+    return Flux.fromIterable(savers)
+        .flatMap(userId -> cql.execute(INSERT_SAVE, deckId, userId), 32)
+        .then(Mono.zip(
+            cql.queryForObject(COUNT_SAVERS, Long.class, deckId),
+            cql.queryForFlux(COUNT_SAVES, Long.class, deckId).next().defaultIfEmpty(0L)))
+        .flatMap(t -> {
+          var drift = t.getT1() - t.getT2();
+          if (drift == 0)
+            return Mono.empty();
+          log.info("Adjusting saves of deck: {} by {}", deckId, drift);
+
+          return cql.execute(UPDATE_SAVES, drift, deckId).then();
+        });
+  }
+}
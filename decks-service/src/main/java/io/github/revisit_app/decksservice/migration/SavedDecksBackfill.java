@@ -0,0 +1,56 @@
+package io.github.revisit_app.decksservice.migration;
+
+import java.util.Collection;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Component;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Copies the legacy saved_decks collection rows into the clustered
+// user_saved_decks table. Safe to run repeatedly; once it has completed the
+// saved_decks table can be dropped.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "decks.migration", name = "backfill-saved-decks", havingValue = "true")
+@RequiredArgsConstructor
+public class SavedDecksBackfill implements ApplicationRunner {
+
+  private static final String SELECT_SAVED_DECKS = "SELECT id, saved_decks FROM saved_decks";
+  private static final String INSERT_SAVED_DECK = "INSERT INTO user_saved_decks (user_id, deck_id) VALUES (?, ?)";
+
+  private final ReactiveCassandraOperations ops;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    log.info("Backfilling user_saved_decks from saved_decks");
+
+    var users = ops.getReactiveCqlOperations()
+        .queryForRows(SELECT_SAVED_DECKS)
+        .filter(row -> !row.isNull("saved_decks"))
+        .flatMap(this::backfill, 8)
+        .count()
+        .block();
+
+    log.info("Backfilled saved decks for {} users", users);
+  }
+
+  private Mono<Void> backfill(Row row) {
+    var cql = ops.getReactiveCqlOperations();
+    var userId = row.getLong("id");
+    @SuppressWarnings("unchecked")
+    var deckIds = (Collection<String>) row.getObject("saved_decks");
+
+    return Flux.fromIterable(deckIds)
+        .flatMap(deckId -> cql.execute(INSERT_SAVED_DECK, userId, deckId), 32)
+        .then();
+  }
+}
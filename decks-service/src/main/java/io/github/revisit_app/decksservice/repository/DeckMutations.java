@@ -0,0 +1,29 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.time.Instant;
+import java.util.Set;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import reactor.core.publisher.Mono;
+
+public interface DeckMutations {
+
+  Mono<Deck> createDeck(Deck deck, Long userId);
+
+  Mono<Boolean> updateDeck(Deck deck, String title, String desc, Instant dateUpdated);
+
+  Mono<Void> deleteDeck(Deck deck, Long userId);
+
+  Mono<Boolean> addCard(String deckId, String cardId);
+
+  Mono<Boolean> removeCard(String deckId, String cardId);
+
+  // The cards actually added and removed, under the version they were applied
+  // at; empty if the deck does not exist. Adding cards that are already in the
+  // deck, or removing ones that are not, changes nothing, and a change with no
+  // cards keeps the deck's current version.
+  Mono<DeckChange> updateCards(String deckId, Set<String> add, Set<String> remove);
+
+  Mono<Void> deleteSaves(String deckId);
+}
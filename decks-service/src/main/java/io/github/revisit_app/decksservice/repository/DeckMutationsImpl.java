@@ -0,0 +1,303 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.data.cassandra.ReactiveResultSet;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.ReactiveSessionCallback;
+import org.springframework.data.cassandra.core.cql.WriteOptions;
+
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.entity.AuthorDeck;
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry;
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry.Action;
+import io.github.revisit_app.decksservice.migration.MigrationProperties;
+import io.github.revisit_app.decksservice.service.DeckChangesProperties;
+import io.github.revisit_app.decksservice.service.ProfileOutboxProperties;
+import io.github.revisit_app.decksservice.util.TimeUuids;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class DeckMutationsImpl implements DeckMutations {
+
+  // Deck rows are changed conditionally on the version they were read at: a
+  // missing deck is reported instead of upserted, versions advance one change
+  // at a time in the order of the change log, and a listing row is only moved
+  // from the date_updated it was really at. Card edits are applied server-side
+  // as set mutations.
+  private static final String SELECT_VERSION = "SELECT date_updated, version FROM deck WHERE id = ?";
+  private static final String SELECT_CARDS_VERSION = "SELECT version, card_set FROM deck WHERE id = ?";
+  private static final String SELECT_LEGACY_CARDS_VERSION = "SELECT version, card_set, cards FROM deck WHERE id = ?";
+  private static final String INIT_VERSION = "UPDATE deck SET version = ? WHERE id = ? IF EXISTS";
+  private static final String ADD_CARD = "UPDATE deck SET card_set = card_set + ?, version = ? WHERE id = ? IF version = ?";
+  private static final String REMOVE_CARD = "UPDATE deck SET card_set = card_set - ?, version = ? WHERE id = ? IF version = ?";
+  private static final String ADD_LEGACY_CARDS = "UPDATE deck SET card_set = card_set + ?, cards = null, version = ? WHERE id = ? IF version = ?";
+  private static final String REMOVE_LEGACY_CARDS = "UPDATE deck SET card_set = card_set - ?, cards = null, version = ? WHERE id = ? IF version = ?";
+  private static final String UPDATE_DECK = "UPDATE deck SET title = ?, description = ?, date_updated = ?, version = ? WHERE id = ? IF date_updated = ? AND version = ?";
+  private static final String DELETE_DECK = "DELETE FROM deck WHERE id = ? IF date_updated = ? AND version = ?";
+  private static final String LOG_CHANGE = "INSERT INTO deck_changes (deck_id, version, previous, added, removed) VALUES (?, ?, ?, ?, ?) USING TTL ?";
+  private static final String DELETE_CHANGE = "DELETE FROM deck_changes WHERE deck_id = ? AND version = ?";
+  private static final String DELETE_SAVES = "DELETE FROM deck_saves WHERE deck_id = ?";
+  private static final String DELETE_COUNTERS = "DELETE FROM deck_counters WHERE deck_id = ?";
+  static final List<String> STATEMENTS = List.of(SELECT_VERSION, SELECT_CARDS_VERSION, SELECT_LEGACY_CARDS_VERSION, INIT_VERSION,
+      ADD_CARD, REMOVE_CARD, ADD_LEGACY_CARDS, REMOVE_LEGACY_CARDS, UPDATE_DECK, DELETE_DECK, LOG_CHANGE, DELETE_CHANGE, DELETE_SAVES,
+      DELETE_COUNTERS);
+
+  // Conditional updates that lose to a concurrent edit are retried on the
+  // new version; the write combiner keeps this to edits from other instances.
+  private static final int MAX_ATTEMPTS = 8;
+
+  private final ReactiveCassandraOperations ops;
+  private final ProfileOutboxProperties outboxProperties;
+  private final DeckChangesProperties changesProperties;
+  private final MigrationProperties migrationProperties;
+
+  // The decks_by_author listing row and the profile side effect are written in
+  // the same logged batch as the deck; ProfileOutboxDispatcher delivers the
+  // latter later.
+  @Override
+  public Mono<Deck> createDeck(Deck deck, Long userId) {
+    var entry = ProfileOutboxEntry.create(Action.ADD, userId, deck.getId(), outboxProperties.getBuckets(),
+        outboxProperties.getSlotSize());
+
+    return ops.batchOps()
+        .insert(deck)
+        .insert(AuthorDeck.of(deck), at(deck.getVersion()))
+        .insert(entry)
+        .execute()
+        .thenReturn(deck);
+  }
+
+  // The update is logged like a card edit, with no cards, so that delta
+  // clients can follow it. The listing row is then moved from the date the
+  // update replaced, whatever the caller read.
+  @Override
+  public Mono<Boolean> updateDeck(Deck deck, String title, String desc, Instant dateUpdated) {
+    return updateDeck(deck, title, desc, dateUpdated, 1);
+  }
+
+  private Mono<Boolean> updateDeck(Deck deck, String title, String desc, Instant dateUpdated, int attempt) {
+    var cql = ops.getReactiveCqlOperations();
+    var deckId = deck.getId();
+    var authorId = deck.getAuthor().getId();
+
+    return cql.queryForRows(SELECT_VERSION, deckId)
+        .next()
+        .flatMap(row -> {
+          var previousDate = row.getInstant("date_updated");
+          var current = row.getUuid("version");
+          if (current == null)
+            return initVersion(deckId, () -> updateDeck(deck, title, desc, dateUpdated, attempt));
+          var version = nextVersion(current);
+
+          return logged(cql.execute(UPDATE_DECK, title, desc, dateUpdated, version, deckId, previousDate, current),
+              deckId, version, current, Set.of(), Set.of())
+              .flatMap(applied -> {
+                if (!applied)
+                  return retry(deckId, version, attempt,
+                      () -> updateDeck(deck, title, desc, dateUpdated, attempt + 1));
+                var batch = ops.batchOps();
+                if (!dateUpdated.equals(previousDate))
+                  batch.delete(new AuthorDeck(authorId, previousDate, deckId, null, null), at(version));
+
+                return batch.insert(new AuthorDeck(authorId, dateUpdated, deckId, title, desc), at(version))
+                    .execute()
+                    .thenReturn(true);
+              });
+        })
+        .defaultIfEmpty(false);
+  }
+
+  // The listing row and the profile side effect go out first, in a logged
+  // batch, so a failure before the deck row is gone leaves a delete the caller
+  // can repeat rather than an orphaned listing row. The deck row is then
+  // deleted conditionally; if an update won in between, the next attempt
+  // deletes the listing row that update wrote.
+  @Override
+  public Mono<Void> deleteDeck(Deck deck, Long userId) {
+    var entry = ProfileOutboxEntry.create(Action.REMOVE, userId, deck.getId(), outboxProperties.getBuckets(),
+        outboxProperties.getSlotSize());
+
+    return deleteDeck(deck, entry, 1);
+  }
+
+  private Mono<Void> deleteDeck(Deck deck, ProfileOutboxEntry entry, int attempt) {
+    var cql = ops.getReactiveCqlOperations();
+    var deckId = deck.getId();
+
+    return cql.queryForRows(SELECT_VERSION, deckId)
+        .next()
+        .flatMap(row -> {
+          var previousDate = row.getInstant("date_updated");
+          var current = row.getUuid("version");
+          // Ordered after the listing row of the update that wrote current.
+          var deleted = current == null ? Uuids.timeBased() : nextVersion(current);
+          var batch = ops.batchOps()
+              .delete(new AuthorDeck(deck.getAuthor().getId(), previousDate, deckId, null, null), at(deleted));
+          if (attempt == 1)
+            batch.insert(entry);
+
+          return batch.execute()
+              .then(cql.execute(DELETE_DECK, deckId, previousDate, current))
+              .flatMap(applied -> applied
+                  ? Mono.<Void>empty()
+                  : retry(deckId, null, attempt, () -> deleteDeck(deck, entry, attempt + 1)));
+        })
+        .then();
+  }
+
+  @Override
+  public Mono<Boolean> addCard(String deckId, String cardId) {
+    return updateCards(deckId, Set.of(cardId), Set.of()).map(change -> !change.getAdded().isEmpty());
+  }
+
+  @Override
+  public Mono<Boolean> removeCard(String deckId, String cardId) {
+    return updateCards(deckId, Set.of(), Set.of(cardId)).map(change -> !change.getRemoved().isEmpty());
+  }
+
+  // One read for the version and the cards, then the conditional update and
+  // its log entry together. The cards that would change are worked out from
+  // the read; the update is conditional on the version read, so they are still
+  // the ones that change when it applies. A deck still holding a legacy cards
+  // list has it moved into card_set by the same update.
+  @Override
+  public Mono<DeckChange> updateCards(String deckId, Set<String> add, Set<String> remove) {
+    return updateCards(deckId, add, remove, 1);
+  }
+
+  private Mono<DeckChange> updateCards(String deckId, Set<String> add, Set<String> remove, int attempt) {
+    var legacy = migrationProperties.isLegacyCards();
+
+    return ops.getReactiveCqlOperations()
+        .queryForRows(legacy ? SELECT_LEGACY_CARDS_VERSION : SELECT_CARDS_VERSION, deckId)
+        .next()
+        .flatMap(row -> {
+          var current = row.getUuid("version");
+          if (current == null)
+            return initVersion(deckId, () -> updateCards(deckId, add, remove, attempt));
+          var existing = new HashSet<>(row.getSet("card_set", String.class));
+          var migrated = legacy && !row.isNull("cards");
+          var legacyCards = migrated ? row.getList("cards", String.class) : List.<String>of();
+          existing.addAll(legacyCards);
+          var added = new HashSet<>(add);
+          added.removeAll(existing);
+          var removed = new HashSet<>(remove);
+          removed.retainAll(existing);
+          if (added.isEmpty() && removed.isEmpty())
+            return Mono.just(new DeckChange(deckId, current, current, Set.of(), Set.of()));
+          var version = nextVersion(current);
+          var adding = new HashSet<>(added);
+          if (migrated) {
+            adding.addAll(legacyCards);
+            adding.removeAll(removed);
+          }
+
+          return logged(applyCards(deckId, current, version, adding, removed, migrated), deckId, version, current,
+              added, removed)
+              .flatMap(applied -> applied
+                  ? Mono.just(new DeckChange(deckId, version, current, added, removed))
+                  : retry(deckId, version, attempt, () -> updateCards(deckId, add, remove, attempt + 1)));
+        });
+  }
+
+  // The change is logged under its new version, with the version it follows,
+  // alongside the conditional write, and dropped again if the write is not
+  // applied. An entry whose write never applied, because the writer lost the
+  // race or stopped in between, is not on the chain of previous versions that
+  // leads back from the deck's current version, which is how readers skip it;
+  // a write applied without its entry breaks the chain, and readers fall back
+  // to a snapshot. Log entries expire after the retention period.
+  private Mono<Boolean> logged(Mono<Boolean> write, String deckId, UUID version, UUID previous,
+      Set<String> add, Set<String> remove) {
+    return Mono.zip(write, logChange(deckId, version, previous, add, remove), (applied, logged) -> applied);
+  }
+
+  private Mono<Boolean> logChange(String deckId, UUID version, UUID previous, Set<String> add,
+      Set<String> remove) {
+    var ttl = (int) changesProperties.getRetention().toSeconds();
+
+    return ops.getReactiveCqlOperations().execute(LOG_CHANGE, deckId, version, previous, add, remove, ttl);
+  }
+
+  // Decks written before versions existed get one first, so that the change
+  // that follows has a version to be conditional on.
+  private <T> Mono<T> initVersion(String deckId, Supplier<Mono<T>> change) {
+    return ops.getReactiveCqlOperations()
+        .execute(INIT_VERSION, Uuids.timeBased(), deckId)
+        .then(Mono.defer(change));
+  }
+
+  // Drops the change logged for a conditional write that was not applied and
+  // tries again from the version that won.
+  private <T> Mono<T> retry(String deckId, UUID logged, int attempt, Supplier<Mono<T>> next) {
+    var dropped = logged == null
+        ? Mono.<Boolean>empty()
+        : ops.getReactiveCqlOperations().execute(DELETE_CHANGE, deckId, logged);
+    if (attempt >= MAX_ATTEMPTS)
+      return dropped.then(Mono.error(new IllegalStateException(
+          "Could not write deck " + deckId + " after " + attempt + " attempts")));
+
+    return dropped.then(Mono.defer(next));
+  }
+
+  // Listing rows are written at the time of the deck version that put them
+  // there, so moves for successive versions that reach the replicas out of
+  // order still leave only the latest one's row. Decks without a version keep
+  // the default write time.
+  private static WriteOptions at(UUID version) {
+    if (version == null)
+      return WriteOptions.empty();
+
+    return WriteOptions.builder().timestamp(TimeUuids.micros(version)).build();
+  }
+
+  // A version after current even when this node's clock is behind the one
+  // that wrote it.
+  static UUID nextVersion(UUID current) {
+    var version = Uuids.timeBased();
+
+    return version.timestamp() > current.timestamp() ? version : TimeUuids.of(current.timestamp() + 1);
+  }
+
+  // Additions and removals cannot target the same column in one UPDATE, so when
+  // both are present they go out as a single-partition batch, which Cassandra
+  // applies atomically and in isolation. When migrating, the legacy list's
+  // cards are among the additions and the list is cleared; the backfill's
+  // move is conditional on the list, so only one of them applies it.
+  private Mono<Boolean> applyCards(String deckId, UUID current, UUID version, Set<String> add,
+      Set<String> remove, boolean migrating) {
+    var cql = ops.getReactiveCqlOperations();
+    var addCards = migrating ? ADD_LEGACY_CARDS : ADD_CARD;
+    if (remove.isEmpty())
+      return cql.execute(addCards, add, version, deckId, current);
+    if (add.isEmpty())
+      return cql.execute(migrating ? REMOVE_LEGACY_CARDS : REMOVE_CARD, remove, version, deckId, current);
+    ReactiveSessionCallback<Boolean> callback = session -> Mono
+        .zip(session.prepare(addCards), session.prepare(REMOVE_CARD))
+        .flatMap(ps -> session.execute(BatchStatement.newInstance(DefaultBatchType.UNLOGGED,
+            ps.getT1().bind(add, version, deckId, current),
+            ps.getT2().bind(remove, version, deckId, current))))
+        .map(ReactiveResultSet::wasApplied);
+
+    return cql.execute(callback).next();
+  }
+
+  @Override
+  public Mono<Void> deleteSaves(String deckId) {
+    var cql = ops.getReactiveCqlOperations();
+
+    return Mono.when(cql.execute(DELETE_SAVES, deckId), cql.execute(DELETE_COUNTERS, deckId));
+  }
+}
@@ -0,0 +1,32 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.util.Set;
+import java.util.UUID;
+
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import io.github.revisit_app.decksservice.util.CursorPage;
+import io.github.revisit_app.decksservice.util.DeckData;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface DeckReads {
+
+  Mono<DeckData> findDeckData(String deckId, Set<String> fields);
+
+  Mono<UserUDT> findAuthor(String deckId);
+
+  Mono<Set<String>> findCards(String deckId);
+
+  Mono<Long> countSaves(String deckId);
+
+  Mono<CursorPage<DeckData>> findDecksByAuthor(Long authorId, int limit, String cursor);
+
+  Flux<DeckChange> findCardChanges(String deckId, UUID since, int limit);
+
+  // Full scans for rebuilding in-process indexes: id, title and desc of every
+  // deck, and id and numSaves of every deck that has been saved.
+  Flux<DeckData> scanDecks();
+
+  Flux<DeckData> scanSaves();
+}
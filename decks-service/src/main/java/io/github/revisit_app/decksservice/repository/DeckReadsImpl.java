@@ -0,0 +1,202 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.Columns;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.data.UdtValue;
+
+import io.github.revisit_app.decksservice.entity.AuthorDeck;
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import io.github.revisit_app.decksservice.migration.MigrationProperties;
+import io.github.revisit_app.decksservice.util.CursorPage;
+import io.github.revisit_app.decksservice.util.DeckData;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class DeckReadsImpl implements DeckReads {
+
+  private static final Map<String, String> COLUMNS = Map.of(
+      "id", "id",
+      "author", "author",
+      "title", "title",
+      "desc", "description",
+      "dateCreated", "date_created",
+      "dateUpdated", "date_updated",
+      "cards", "card_set",
+      "numCards", "card_set",
+      "forkedFrom", "forked_from");
+  private static final String SELECT_CARDS = "SELECT card_set FROM deck WHERE id = ?";
+  private static final String SELECT_LEGACY_CARDS = "SELECT card_set, cards FROM deck WHERE id = ?";
+  private static final String COUNT_SAVES = "SELECT num_saves FROM deck_counters WHERE deck_id = ?";
+  private static final String SCAN_DECKS = "SELECT id, title, description FROM deck";
+  private static final String SCAN_SAVES = "SELECT deck_id, num_saves FROM deck_counters";
+  static final List<String> STATEMENTS = List.of(SELECT_CARDS, SELECT_LEGACY_CARDS, COUNT_SAVES);
+
+  private final ReactiveCassandraOperations ops;
+  private final MigrationProperties migrationProperties;
+
+  @Override
+  public Mono<DeckData> findDeckData(String deckId, Set<String> fields) {
+    // Sorted so that each field combination maps to one prepared statement.
+    var columns = new TreeSet<String>();
+    columns.add("id");
+    columns.add("version");
+    fields.stream()
+        .filter(COLUMNS::containsKey)
+        .map(COLUMNS::get)
+        .forEach(columns::add);
+    if (columns.contains("card_set") && migrationProperties.isLegacyCards())
+      columns.add("cards");
+    var cql = "SELECT " + String.join(", ", columns) + " FROM deck WHERE id = ?";
+
+    var data = ops.getReactiveCqlOperations()
+        .query(cql, (row, rowNum) -> toDeckData(row, fields), deckId)
+        .next();
+    if (!fields.contains("numSaves"))
+      return data;
+
+    return data.zipWith(countSaves(deckId), (dd, numSaves) -> {
+      dd.setNumSaves(numSaves);
+
+      return dd;
+    });
+  }
+
+  @Override
+  public Mono<UserUDT> findAuthor(String deckId) {
+    var query = Query.query(Criteria.where("id").is(deckId)).columns(Columns.from("author"));
+
+    return ops.selectOne(query, Deck.class).map(Deck::getAuthor);
+  }
+
+  @Override
+  public Mono<Set<String>> findCards(String deckId) {
+    var cql = migrationProperties.isLegacyCards() ? SELECT_LEGACY_CARDS : SELECT_CARDS;
+
+    return ops.getReactiveCqlOperations()
+        .query(cql, (row, rowNum) -> cards(row), deckId)
+        .next();
+  }
+
+  @Override
+  public Mono<Long> countSaves(String deckId) {
+    return ops.getReactiveCqlOperations()
+        .queryForFlux(COUNT_SAVES, Long.class, deckId)
+        .next()
+        .defaultIfEmpty(0L);
+  }
+
+  @Override
+  public Mono<CursorPage<DeckData>> findDecksByAuthor(Long authorId, int limit, String cursor) {
+    var query = Query.query(Criteria.where("author_id").is(authorId));
+
+    return Mono.fromCallable(() -> PagingCursors.pageRequest(limit, cursor))
+        .flatMap(pageRequest -> ops.slice(query.pageRequest(pageRequest), AuthorDeck.class))
+        .onErrorMap(error -> PagingCursors.translate(cursor, error))
+        .map(slice -> PagingCursors.toPage(slice, DeckReadsImpl::toDeckData));
+  }
+
+  @Override
+  public Flux<DeckChange> findCardChanges(String deckId, UUID since, int limit) {
+    var query = Query.query(Criteria.where("deck_id").is(deckId), Criteria.where("version").gt(since))
+        .limit(limit);
+
+    return ops.select(query, DeckChange.class);
+  }
+
+  // The driver pages through the table as the Flux is consumed.
+  @Override
+  public Flux<DeckData> scanDecks() {
+    return ops.getReactiveCqlOperations().query(SCAN_DECKS, (row, rowNum) -> {
+      var data = new DeckData();
+      data.setId(row.getString("id"));
+      data.setTitle(row.getString("title"));
+      data.setDesc(row.getString("description"));
+
+      return data;
+    });
+  }
+
+  @Override
+  public Flux<DeckData> scanSaves() {
+    return ops.getReactiveCqlOperations().query(SCAN_SAVES, (row, rowNum) -> {
+      var data = new DeckData();
+      data.setId(row.getString("deck_id"));
+      data.setNumSaves(row.getLong("num_saves"));
+
+      return data;
+    });
+  }
+
+  static DeckData toDeckData(AuthorDeck ad) {
+    var data = new DeckData();
+    data.setId(ad.getDeckId());
+    data.setTitle(ad.getTitle());
+    data.setDesc(ad.getDesc());
+    data.setDateUpdated(ad.getDateUpdated());
+
+    return data;
+  }
+
+  private static DeckData toDeckData(Row row, Set<String> fields) {
+    var data = new DeckData();
+    data.setId(row.getString("id"));
+    data.setVersion(row.getUuid("version"));
+    if (fields.contains("author"))
+      data.setAuthor(toUser(row.getUdtValue("author")));
+    if (fields.contains("title"))
+      data.setTitle(row.getString("title"));
+    if (fields.contains("desc"))
+      data.setDesc(row.getString("description"));
+    if (fields.contains("dateCreated"))
+      data.setDateCreated(row.getInstant("date_created"));
+    if (fields.contains("dateUpdated"))
+      data.setDateUpdated(row.getInstant("date_updated"));
+    if (fields.contains("cards") || fields.contains("numCards")) {
+      var cards = cards(row);
+      if (fields.contains("cards"))
+        data.setCards(Collections.unmodifiableSet(cards));
+      if (fields.contains("numCards"))
+        data.setNumCards(Long.valueOf(cards.size()));
+    }
+    if (fields.contains("forkedFrom"))
+      data.setForkedFrom(row.getString("forked_from"));
+
+    return data;
+  }
+
+  // Decks not yet reached by CardSetBackfill, nor edited since, still keep
+  // their cards in the legacy list, which may hold duplicates.
+  private static Set<String> cards(Row row) {
+    var cards = row.getSet("card_set", String.class);
+    if (!row.getColumnDefinitions().contains("cards") || row.isNull("cards"))
+      return cards;
+    var merged = new HashSet<>(cards);
+    merged.addAll(row.getList("cards", String.class));
+
+    return merged;
+  }
+
+  private static UserUDT toUser(UdtValue udt) {
+    if (udt == null)
+      return null;
+
+    return new UserUDT(udt.getLong("id"), udt.getString("username"), udt.getString("first_name"),
+        udt.getString("last_name"));
+  }
+}
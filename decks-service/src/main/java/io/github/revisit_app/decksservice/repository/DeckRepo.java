@@ -4,6 +4,10 @@ import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 
 import io.github.revisit_app.decksservice.entity.Deck;
 
-public interface DeckRepo extends ReactiveCrudRepository<Deck, String>{
+// The fragments are listed again because Spring Data only looks up *Impl
+// classes for the repository's direct super-interfaces, not for those
+// inherited through DeckStore.
+public interface DeckRepo extends ReactiveCrudRepository<Deck, String>, DeckStore, DeckReads,
+    DeckMutations {
   
 }
@@ -0,0 +1,11 @@
+package io.github.revisit_app.decksservice.repository;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import reactor.core.publisher.Mono;
+
+// Storage operations the handlers use for decks. DeckRepo provides them on
+// Cassandra and InMemoryDeckStore in the in-memory profile.
+public interface DeckStore extends DeckReads, DeckMutations {
+
+  Mono<Deck> findById(String deckId);
+}
@@ -0,0 +1,337 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.entity.AuthorDeck;
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import io.github.revisit_app.decksservice.service.DeckChangesProperties;
+import io.github.revisit_app.decksservice.util.CursorPage;
+import io.github.revisit_app.decksservice.util.DeckData;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Keeps decks and saves in concurrent maps with the same outcomes as the
+// Cassandra repositories. Conditional writes (IF EXISTS / IF NOT EXISTS) are
+// decided atomically per deck or save, and the author listing and change log
+// are updated inside the deck's compute, so they move together with it.
+// Profile updates have no outbox here, since the in-memory profile runs
+// without the user-profile service.
+@Repository
+@Profile("in-memory")
+@RequiredArgsConstructor
+public class InMemoryDeckStore implements DeckStore, SavedDecksStore {
+
+  private static final Comparator<AuthorDeck> LISTING_ORDER = Comparator.comparing(AuthorDeck::getDateUpdated)
+      .reversed()
+      .thenComparing(AuthorDeck::getDeckId);
+  private static final Comparator<UUID> VERSION_ORDER = Comparator.comparingLong(UUID::timestamp)
+      .thenComparing(Comparator.naturalOrder());
+
+  private final DeckChangesProperties changesProperties;
+  private final Map<String, Deck> decks = new ConcurrentHashMap<>();
+  private final Map<Long, NavigableSet<AuthorDeck>> decksByAuthor = new ConcurrentHashMap<>();
+  private final Map<String, NavigableMap<UUID, DeckChange>> changes = new ConcurrentHashMap<>();
+  private final Map<String, Set<Long>> deckSaves = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> saveCounters = new ConcurrentHashMap<>();
+  private final Map<Long, NavigableMap<String, Instant>> savedDecks = new ConcurrentHashMap<>();
+
+  @Override
+  public Mono<Deck> findById(String deckId) {
+    return Mono.fromSupplier(() -> decks.get(deckId)).map(InMemoryDeckStore::copy);
+  }
+
+  @Override
+  public Mono<DeckData> findDeckData(String deckId, Set<String> fields) {
+    return Mono.fromSupplier(() -> decks.get(deckId))
+        .map(deck -> new DeckData(deck, saves(deckId)).project(fields));
+  }
+
+  @Override
+  public Mono<UserUDT> findAuthor(String deckId) {
+    return Mono.fromSupplier(() -> decks.get(deckId)).map(Deck::getAuthor);
+  }
+
+  @Override
+  public Mono<Set<String>> findCards(String deckId) {
+    return Mono.fromSupplier(() -> decks.get(deckId)).map(Deck::getCards);
+  }
+
+  @Override
+  public Mono<Long> countSaves(String deckId) {
+    return Mono.fromSupplier(() -> saves(deckId));
+  }
+
+  @Override
+  public Mono<CursorPage<DeckData>> findDecksByAuthor(Long authorId, int limit, String cursor) {
+    return Mono.fromCallable(() -> {
+      NavigableSet<AuthorDeck> listing = decksByAuthor.getOrDefault(authorId, Collections.emptyNavigableSet());
+      if (cursor != null)
+        listing = listing.tailSet(listingKey(decode(cursor)), false);
+
+      return page(listing, limit, DeckReadsImpl::toDeckData,
+          last -> encode(last.getDateUpdated() + "/" + last.getDeckId()));
+    });
+  }
+
+  @Override
+  public Flux<DeckChange> findCardChanges(String deckId, UUID since, int limit) {
+    var log = changes.getOrDefault(deckId, Collections.emptyNavigableMap());
+
+    return Flux.fromIterable(log.tailMap(since, false).values())
+        .filter(change -> change.getVersion().timestamp() > retainedSince().timestamp())
+        .take(limit);
+  }
+
+  @Override
+  public Flux<DeckData> scanDecks() {
+    return Flux.defer(() -> Flux.fromIterable(decks.values()))
+        .map(deck -> new DeckData(deck, null).project(Set.of("title", "desc")));
+  }
+
+  @Override
+  public Flux<DeckData> scanSaves() {
+    return Flux.defer(() -> Flux.fromIterable(saveCounters.entrySet()))
+        .map(entry -> {
+          var data = new DeckData();
+          data.setId(entry.getKey());
+          data.setNumSaves(entry.getValue().get());
+
+          return data;
+        });
+  }
+
+  @Override
+  public Mono<Deck> createDeck(Deck deck, Long userId) {
+    return Mono.fromSupplier(() -> {
+      var stored = copy(deck);
+      decks.compute(deck.getId(), (id, existing) -> {
+        if (existing != null)
+          listing(existing.getAuthor().getId()).remove(AuthorDeck.of(existing));
+        listing(stored.getAuthor().getId()).add(AuthorDeck.of(stored));
+
+        return stored;
+      });
+
+      return deck;
+    });
+  }
+
+  @Override
+  public Mono<Boolean> updateDeck(Deck deck, String title, String desc, Instant dateUpdated) {
+    return Mono.fromSupplier(() -> decks.computeIfPresent(deck.getId(), (id, existing) -> {
+      var updated = copy(existing);
+      updated.setTitle(title);
+      updated.setDesc(desc);
+      updated.setDateUpdated(dateUpdated);
+      updated.setVersion(Uuids.timeBased());
+      logChange(new DeckChange(existing.getId(), updated.getVersion(), existing.getVersion(), Set.of(), Set.of()));
+      var listing = listing(existing.getAuthor().getId());
+      listing.remove(AuthorDeck.of(existing));
+      listing.add(AuthorDeck.of(updated));
+
+      return updated;
+    }) != null);
+  }
+
+  @Override
+  public Mono<Void> deleteDeck(Deck deck, Long userId) {
+    return Mono.fromRunnable(() -> decks.computeIfPresent(deck.getId(), (id, existing) -> {
+      listing(existing.getAuthor().getId()).remove(AuthorDeck.of(existing));
+
+      return null;
+    }));
+  }
+
+  @Override
+  public Mono<Boolean> addCard(String deckId, String cardId) {
+    return updateCards(deckId, Set.of(cardId), Set.of()).map(change -> !change.getAdded().isEmpty());
+  }
+
+  @Override
+  public Mono<Boolean> removeCard(String deckId, String cardId) {
+    return updateCards(deckId, Set.of(), Set.of(cardId)).map(change -> !change.getRemoved().isEmpty());
+  }
+
+  @Override
+  public Mono<DeckChange> updateCards(String deckId, Set<String> add, Set<String> remove) {
+    return Mono.fromSupplier(() -> {
+      var change = new AtomicReference<DeckChange>();
+      decks.computeIfPresent(deckId, (id, existing) -> {
+        var added = new HashSet<>(add);
+        added.removeAll(existing.getCards());
+        var removed = new HashSet<>(remove);
+        removed.retainAll(existing.getCards());
+        if (added.isEmpty() && removed.isEmpty()) {
+          change.set(new DeckChange(deckId, existing.getVersion(), existing.getVersion(), Set.of(), Set.of()));
+
+          return existing;
+        }
+        var cards = new HashSet<>(existing.getCards());
+        cards.addAll(added);
+        cards.removeAll(removed);
+        var updated = copy(existing);
+        updated.setCards(Collections.unmodifiableSet(cards));
+        updated.setVersion(Uuids.timeBased());
+        change.set(new DeckChange(deckId, updated.getVersion(), existing.getVersion(), Set.copyOf(added),
+            Set.copyOf(removed)));
+        logChange(change.get());
+
+        return updated;
+      });
+
+      return change.get();
+    });
+  }
+
+  // Called inside the deck's compute, like the Cassandra writes that log the
+  // change next to the conditional update.
+  private void logChange(DeckChange change) {
+    var log = changes.computeIfAbsent(change.getDeckId(), key -> new ConcurrentSkipListMap<>(VERSION_ORDER));
+    log.put(change.getVersion(), change);
+    log.headMap(retainedSince()).clear();
+  }
+
+  @Override
+  public Mono<Void> deleteSaves(String deckId) {
+    return Mono.fromRunnable(() -> {
+      deckSaves.remove(deckId);
+      saveCounters.remove(deckId);
+    });
+  }
+
+  @Override
+  public Flux<String> findSavedDeckIds(Long userId) {
+    return Flux.defer(() -> Flux.fromIterable(
+        savedDecks.getOrDefault(userId, Collections.emptyNavigableMap()).keySet()));
+  }
+
+  @Override
+  public Mono<CursorPage<String>> findSavedDecksPage(Long userId, int limit, String cursor) {
+    return Mono.fromCallable(() -> {
+      NavigableSet<String> deckIds = savedDecks.getOrDefault(userId, Collections.emptyNavigableMap())
+          .navigableKeySet();
+      if (cursor != null)
+        deckIds = deckIds.tailSet(decode(cursor), false);
+
+      return page(deckIds, limit, Function.identity(), InMemoryDeckStore::encode);
+    });
+  }
+
+  @Override
+  public Mono<Boolean> saveDeck(Long userId, String deckId) {
+    return Mono.fromSupplier(() -> {
+      var added = new AtomicBoolean();
+      deckSaves.compute(deckId, (id, users) -> {
+        var saved = users != null ? users : ConcurrentHashMap.<Long>newKeySet();
+        if (saved.add(userId)) {
+          added.set(true);
+          saveCounters.computeIfAbsent(deckId, key -> new AtomicLong()).incrementAndGet();
+          savedDecks.computeIfAbsent(userId, key -> new ConcurrentSkipListMap<>()).put(deckId, Instant.now());
+        }
+
+        return saved;
+      });
+
+      return added.get();
+    });
+  }
+
+  @Override
+  public Mono<Boolean> unsaveDeck(Long userId, String deckId) {
+    return Mono.fromSupplier(() -> {
+      var removed = new AtomicBoolean();
+      deckSaves.computeIfPresent(deckId, (id, users) -> {
+        if (users.remove(userId)) {
+          removed.set(true);
+          saveCounters.computeIfAbsent(deckId, key -> new AtomicLong()).decrementAndGet();
+          savedDecks.getOrDefault(userId, Collections.emptyNavigableMap()).remove(deckId);
+        }
+
+        return users.isEmpty() ? null : users;
+      });
+
+      return removed.get();
+    });
+  }
+
+  private long saves(String deckId) {
+    var counter = saveCounters.get(deckId);
+
+    return counter == null ? 0L : counter.get();
+  }
+
+  private NavigableSet<AuthorDeck> listing(Long authorId) {
+    return decksByAuthor.computeIfAbsent(authorId, id -> new ConcurrentSkipListSet<>(LISTING_ORDER));
+  }
+
+  private UUID retainedSince() {
+    return Uuids.startOf(Instant.now().minus(changesProperties.getRetention()).toEpochMilli());
+  }
+
+  private static <T, R> CursorPage<R> page(NavigableSet<T> items, int limit, Function<T, R> mapper,
+      Function<T, String> cursor) {
+    var page = new ArrayList<R>(Math.min(limit, 64));
+    T last = null;
+    for (var item : items) {
+      if (page.size() == limit)
+        return new CursorPage<>(page, cursor.apply(last));
+      page.add(mapper.apply(item));
+      last = item;
+    }
+
+    return new CursorPage<>(page, null);
+  }
+
+  private static AuthorDeck listingKey(String cursor) {
+    var separator = cursor.indexOf('/');
+    if (separator < 0)
+      throw new IllegalArgumentException("Malformed cursor");
+    try {
+      return new AuthorDeck(null, Instant.parse(cursor.substring(0, separator)), cursor.substring(separator + 1),
+          null, null);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Malformed cursor", e);
+    }
+  }
+
+  private static String encode(String key) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String decode(String cursor) {
+    return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+  }
+
+  private static Deck copy(Deck deck) {
+    var cards = deck.getCards() == null ? Set.<String>of() : Collections.unmodifiableSet(new HashSet<>(deck.getCards()));
+
+    return new Deck(deck.getId(), deck.getAuthor(), deck.getTitle(), deck.getDesc(), deck.getDateCreated(),
+        deck.getDateUpdated(), cards, deck.getVersion(), deck.getForkedFrom());
+  }
+}
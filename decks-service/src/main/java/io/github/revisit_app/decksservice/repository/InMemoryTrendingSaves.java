@@ -0,0 +1,31 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import io.github.revisit_app.decksservice.entity.TrendingSaves;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryTrendingSaves implements TrendingSavesStore {
+
+  private final Map<Instant, Map<String, Long>> hours = new ConcurrentHashMap<>();
+
+  @Override
+  public Flux<TrendingSaves> findByHour(Instant hour) {
+    return Flux.defer(() -> Flux.fromIterable(hours.getOrDefault(hour, Map.of()).entrySet()))
+        .map(saves -> new TrendingSaves(hour, saves.getKey(), saves.getValue()));
+  }
+
+  @Override
+  public Mono<Void> addSaves(Instant hour, String deckId, long delta) {
+    return Mono.fromRunnable(() -> hours.computeIfAbsent(hour, key -> new ConcurrentHashMap<>())
+        .merge(deckId, delta, Long::sum));
+  }
+}
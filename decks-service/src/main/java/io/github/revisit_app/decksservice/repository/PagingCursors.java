@@ -0,0 +1,54 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Slice;
+
+import com.datastax.oss.driver.api.core.servererrors.InvalidQueryException;
+import com.datastax.oss.driver.api.core.servererrors.ProtocolError;
+
+import io.github.revisit_app.decksservice.util.CursorPage;
+
+// Pages are served with the driver's native paging; the paging state is handed
+// to clients as an opaque url-safe cursor.
+final class PagingCursors {
+
+  private PagingCursors() {
+  }
+
+  static CassandraPageRequest pageRequest(int limit, String cursor) {
+    if (cursor == null)
+      return CassandraPageRequest.first(limit);
+
+    return CassandraPageRequest.of(CassandraPageRequest.first(limit),
+        ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor)));
+  }
+
+  // A cursor that decodes but holds no paging state of ours is rejected by
+  // the coordinator. That is the client's fault, like a cursor that does not
+  // decode, so it surfaces as the same IllegalArgumentException.
+  static Throwable translate(String cursor, Throwable error) {
+    if (cursor == null)
+      return error;
+    for (var cause = error; cause != null; cause = cause.getCause())
+      if (cause instanceof InvalidQueryException || cause instanceof ProtocolError)
+        return new IllegalArgumentException("Invalid cursor", error);
+
+    return error;
+  }
+
+  static <T, R> CursorPage<R> toPage(Slice<T> slice, Function<T, R> mapper) {
+    var items = slice.getContent().stream().map(mapper).collect(Collectors.toList());
+    if (!slice.hasNext())
+      return new CursorPage<>(items, null);
+    var state = ((CassandraPageRequest) slice.nextPageable()).getPagingState();
+    var bytes = new byte[state.remaining()];
+    state.duplicate().get(bytes);
+
+    return new CursorPage<>(items, Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+  }
+}
@@ -0,0 +1,29 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ProfileOutboxQueries {
+
+  Flux<ProfileOutboxEntry> findDue(int bucket, Instant slot, Instant now, int limit);
+
+  // The oldest slot of the bucket that may still hold entries.
+  Mono<Instant> findCursor(int bucket);
+
+  Mono<Void> saveCursor(int bucket, Instant slot);
+
+  // Takes or renews the bucket's lease for owner; false while another
+  // instance holds it.
+  Mono<Boolean> claimLease(int bucket, UUID owner, Duration ttl);
+
+  Mono<Void> complete(ProfileOutboxEntry entry);
+
+  Mono<Boolean> reschedule(ProfileOutboxEntry entry, ProfileOutboxEntry next);
+
+  Mono<Void> deadLetter(ProfileOutboxEntry entry, String error);
+}
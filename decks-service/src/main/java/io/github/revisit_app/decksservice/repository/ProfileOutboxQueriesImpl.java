@@ -0,0 +1,99 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.entity.DeadProfileOutboxEntry;
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ProfileOutboxQueriesImpl implements ProfileOutboxQueries {
+
+  private static final String DELETE_ENTRY = "DELETE FROM profile_outbox_due WHERE bucket = ? AND slot = ? AND due = ?";
+  // Guarded so that an entry another instance already delivered is not resurrected.
+  private static final String DELETE_PENDING_ENTRY = "DELETE FROM profile_outbox_due WHERE bucket = ? AND slot = ? AND due = ? IF EXISTS";
+  private static final String SELECT_CURSOR = "SELECT slot FROM profile_outbox_cursor WHERE bucket = ?";
+  private static final String UPDATE_CURSOR = "UPDATE profile_outbox_cursor SET slot = ? WHERE bucket = ?";
+  private static final String RENEW_LEASE = "UPDATE profile_outbox_lease USING TTL ? SET owner = ? WHERE bucket = ? IF owner = ?";
+  private static final String INSERT_LEASE = "INSERT INTO profile_outbox_lease (bucket, owner) VALUES (?, ?) IF NOT EXISTS USING TTL ?";
+  static final List<String> STATEMENTS = List.of(DELETE_ENTRY, DELETE_PENDING_ENTRY, SELECT_CURSOR, UPDATE_CURSOR,
+      RENEW_LEASE, INSERT_LEASE);
+
+  private final ReactiveCassandraOperations ops;
+
+  @Override
+  public Flux<ProfileOutboxEntry> findDue(int bucket, Instant slot, Instant now, int limit) {
+    var query = Query.query(Criteria.where("bucket").is(bucket), Criteria.where("slot").is(slot),
+        Criteria.where("due").lte(Uuids.endOf(now.toEpochMilli())))
+        .limit(limit);
+
+    return ops.select(query, ProfileOutboxEntry.class);
+  }
+
+  @Override
+  public Mono<Instant> findCursor(int bucket) {
+    return ops.getReactiveCqlOperations()
+        .queryForFlux(SELECT_CURSOR, Instant.class, bucket)
+        .next();
+  }
+
+  // Instances move the cursor independently; one that is behind may move it
+  // back, which only makes the next polls read a few drained slots again.
+  @Override
+  public Mono<Void> saveCursor(int bucket, Instant slot) {
+    return ops.getReactiveCqlOperations()
+        .execute(UPDATE_CURSOR, slot, bucket)
+        .then();
+  }
+
+  // The lease row expires with its TTL, so a bucket whose owner stopped
+  // renewing it can be claimed by another instance once the TTL runs out.
+  @Override
+  public Mono<Boolean> claimLease(int bucket, UUID owner, Duration ttl) {
+    var cql = ops.getReactiveCqlOperations();
+    var seconds = (int) ttl.toSeconds();
+
+    return cql.execute(RENEW_LEASE, seconds, owner, bucket, owner)
+        .flatMap(renewed -> renewed ? Mono.just(true) : cql.execute(INSERT_LEASE, bucket, owner, seconds));
+  }
+
+  @Override
+  public Mono<Void> complete(ProfileOutboxEntry entry) {
+    return ops.getReactiveCqlOperations()
+        .execute(DELETE_ENTRY, entry.getBucket(), entry.getSlot(), entry.getDue())
+        .then();
+  }
+
+  // The entry is written at its new due time before the old one is removed,
+  // so a failure in between leaves a duplicate delivery, which the idempotency
+  // key absorbs, rather than a lost one. If the old entry is already gone,
+  // another instance has delivered it and the copy is removed again.
+  @Override
+  public Mono<Boolean> reschedule(ProfileOutboxEntry entry, ProfileOutboxEntry next) {
+    var cql = ops.getReactiveCqlOperations();
+
+    return ops.insert(next)
+        .then(cql.execute(DELETE_PENDING_ENTRY, entry.getBucket(), entry.getSlot(), entry.getDue()))
+        .flatMap(applied -> applied ? Mono.just(true) : complete(next).thenReturn(false));
+  }
+
+  @Override
+  public Mono<Void> deadLetter(ProfileOutboxEntry entry, String error) {
+    var dead = new DeadProfileOutboxEntry(Instant.now().truncatedTo(ChronoUnit.DAYS), entry.getId(),
+        entry.getUserId(), entry.getDeckId(), entry.getAction(), entry.getAttempts(), error);
+
+    return ops.insert(dead).then(complete(entry));
+  }
+}
@@ -0,0 +1,10 @@
+package io.github.revisit_app.decksservice.repository;
+
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry;
+
+public interface ProfileOutboxRepo extends ReactiveCrudRepository<ProfileOutboxEntry, MapId>, ProfileOutboxQueries {
+  
+}
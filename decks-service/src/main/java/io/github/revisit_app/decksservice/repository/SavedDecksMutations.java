@@ -0,0 +1,10 @@
+package io.github.revisit_app.decksservice.repository;
+
+import reactor.core.publisher.Mono;
+
+public interface SavedDecksMutations {
+
+  Mono<Boolean> saveDeck(Long userId, String deckId);
+
+  Mono<Boolean> unsaveDeck(Long userId, String deckId);
+}
@@ -0,0 +1,86 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+
+import io.github.revisit_app.decksservice.service.SavesReconciler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+// Membership in deck_saves is decided by a lightweight transaction, so the save
+// counter and the user's saved deck rows only move when the membership changed.
+// Counter updates cannot share a batch with regular writes, so the follow-up
+// statements are sent in parallel once the membership is decided, and their
+// failures do not fail the save. The saved deck row is idempotent and is
+// retried; a counter update is not, since a timed out one may have applied.
+// Either one failing for good leaves drift, which the SavesReconciler repairs
+// from deck_saves.
+@Slf4j
+@RequiredArgsConstructor
+public class SavedDecksMutationsImpl implements SavedDecksMutations {
+
+  private static final String INSERT_SAVE = "INSERT INTO deck_saves (deck_id, user_id) VALUES (?, ?) IF NOT EXISTS";
+  private static final String DELETE_SAVE = "DELETE FROM deck_saves WHERE deck_id = ? AND user_id = ? IF EXISTS";
+  private static final String UPDATE_SAVES = "UPDATE deck_counters SET num_saves = num_saves + ? WHERE deck_id = ?";
+  private static final String ADD_SAVED_DECK = "INSERT INTO user_saved_decks (user_id, deck_id, saved_at) VALUES (?, ?, ?)";
+  private static final String REMOVE_SAVED_DECK = "DELETE FROM user_saved_decks WHERE user_id = ? AND deck_id = ?";
+  static final List<String> STATEMENTS = List.of(INSERT_SAVE, DELETE_SAVE, UPDATE_SAVES, ADD_SAVED_DECK,
+      REMOVE_SAVED_DECK);
+
+  private static final Retry SAVED_DECK_RETRY = Retry.backoff(3, Duration.ofMillis(100));
+
+  private final ReactiveCassandraOperations ops;
+  private final SavesReconciler reconciler;
+
+  @Override
+  public Mono<Boolean> saveDeck(Long userId, String deckId) {
+    var cql = ops.getReactiveCqlOperations();
+
+    return cql.execute(INSERT_SAVE, deckId, userId)
+        .flatMap(applied -> applied
+            ? Mono.when(updateSaves(deckId, 1L),
+                updateSavedDeck(userId, deckId, cql.execute(ADD_SAVED_DECK, userId, deckId, Instant.now())))
+                .thenReturn(true)
+            : Mono.just(false));
+  }
+
+  @Override
+  public Mono<Boolean> unsaveDeck(Long userId, String deckId) {
+    var cql = ops.getReactiveCqlOperations();
+
+    return cql.execute(DELETE_SAVE, deckId, userId)
+        .flatMap(applied -> applied
+            ? Mono.when(updateSaves(deckId, -1L),
+                updateSavedDeck(userId, deckId, cql.execute(REMOVE_SAVED_DECK, userId, deckId)))
+                .thenReturn(true)
+            : Mono.just(false));
+  }
+
+  private Mono<Void> updateSaves(String deckId, long delta) {
+    return ops.getReactiveCqlOperations()
+        .execute(UPDATE_SAVES, delta, deckId)
+        .then()
+        .onErrorResume(error -> {
+          log.error("Could not move saves of deck: {} by {}, reconciling", deckId, delta, error);
+          reconciler.counterFailed(deckId);
+
+          return Mono.empty();
+        });
+  }
+
+  private Mono<Void> updateSavedDeck(Long userId, String deckId, Mono<Boolean> write) {
+    return write.then()
+        .retryWhen(SAVED_DECK_RETRY)
+        .onErrorResume(error -> {
+          log.error("Could not update saved deck: {} of user: {}, reconciling", deckId, userId, error);
+          reconciler.savedDeckFailed(userId, deckId);
+
+          return Mono.empty();
+        });
+  }
+}
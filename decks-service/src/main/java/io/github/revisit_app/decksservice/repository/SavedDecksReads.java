@@ -0,0 +1,12 @@
+package io.github.revisit_app.decksservice.repository;
+
+import io.github.revisit_app.decksservice.util.CursorPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface SavedDecksReads {
+
+  Flux<String> findSavedDeckIds(Long userId);
+
+  Mono<CursorPage<String>> findSavedDecksPage(Long userId, int limit, String cursor);
+}
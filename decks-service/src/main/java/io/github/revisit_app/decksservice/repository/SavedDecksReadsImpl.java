@@ -0,0 +1,35 @@
+package io.github.revisit_app.decksservice.repository;
+
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.Columns;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+
+import io.github.revisit_app.decksservice.entity.SavedDeck;
+import io.github.revisit_app.decksservice.util.CursorPage;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class SavedDecksReadsImpl implements SavedDecksReads {
+
+  private final ReactiveCassandraOperations ops;
+
+  @Override
+  public Flux<String> findSavedDeckIds(Long userId) {
+    return ops.select(byUser(userId), SavedDeck.class).map(SavedDeck::getDeckId);
+  }
+
+  @Override
+  public Mono<CursorPage<String>> findSavedDecksPage(Long userId, int limit, String cursor) {
+    return Mono.fromCallable(() -> PagingCursors.pageRequest(limit, cursor))
+        .flatMap(pageRequest -> ops.slice(byUser(userId).pageRequest(pageRequest), SavedDeck.class))
+        .onErrorMap(error -> PagingCursors.translate(cursor, error))
+        .map(slice -> PagingCursors.toPage(slice, SavedDeck::getDeckId));
+  }
+
+  private static Query byUser(Long userId) {
+    return Query.query(Criteria.where("user_id").is(userId)).columns(Columns.from("deck_id"));
+  }
+}
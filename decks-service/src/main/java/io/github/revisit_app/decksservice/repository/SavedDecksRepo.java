@@ -1,9 +1,14 @@
 package io.github.revisit_app.decksservice.repository;
 
+import org.springframework.data.cassandra.core.mapping.MapId;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 
-import io.github.revisit_app.decksservice.entity.SavedDecks;
+import io.github.revisit_app.decksservice.entity.SavedDeck;
 
-public interface SavedDecksRepo extends ReactiveCrudRepository<SavedDecks, Long>{
+// The fragments are listed again because Spring Data only looks up *Impl
+// classes for the repository's direct super-interfaces, not for those
+// inherited through SavedDecksStore.
+public interface SavedDecksRepo extends ReactiveCrudRepository<SavedDeck, MapId>, SavedDecksStore,
+    SavedDecksReads, SavedDecksMutations {
   
 }
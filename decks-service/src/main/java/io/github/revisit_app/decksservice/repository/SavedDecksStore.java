@@ -0,0 +1,7 @@
+package io.github.revisit_app.decksservice.repository;
+
+// Storage operations the handlers use for saved decks. SavedDecksRepo provides
+// them on Cassandra and InMemoryDeckStore in the in-memory profile.
+public interface SavedDecksStore extends SavedDecksReads, SavedDecksMutations {
+
+}
@@ -0,0 +1,71 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.ReactiveSessionCallback;
+import org.springframework.stereotype.Component;
+
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+
+import io.github.revisit_app.decksservice.connection.AstraSessionConnector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Prepares the repositories' fixed statements in the background once the
+// session connects, so the first requests after a deploy do not each pay a
+// prepare round trip. The connector is marked warm when this is done, which
+// lets readiness go UP. A statement that fails to prepare is logged and
+// prepared again on first use.
+@Slf4j
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(prefix = "astra", name = "prepare-on-startup", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StatementPreparer {
+
+  private static final List<String> STATEMENTS = Stream.of(DeckReadsImpl.STATEMENTS, DeckMutationsImpl.STATEMENTS,
+      SavedDecksMutationsImpl.STATEMENTS, ProfileOutboxQueriesImpl.STATEMENTS, TrendingSavesQueriesImpl.STATEMENTS)
+      .flatMap(List::stream)
+      .toList();
+
+  private final ReactiveCassandraOperations ops;
+  private final AstraSessionConnector connector;
+  private Disposable preparing;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    var cql = ops.getReactiveCqlOperations();
+
+    preparing = connector.session()
+        .thenMany(Flux.fromIterable(STATEMENTS))
+        .flatMap(statement -> cql.execute((ReactiveSessionCallback<PreparedStatement>) session -> session
+            .prepare(statement))
+            .onErrorResume(error -> {
+              log.error("Could not prepare: {}", statement, error);
+
+              return Mono.empty();
+            }), 8)
+        .count()
+        .subscribe(prepared -> {
+          connector.warmedUp();
+          log.info("Prepared {} of {} statements", prepared, STATEMENTS.size());
+        });
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (preparing != null)
+      preparing.dispose();
+  }
+}
@@ -0,0 +1,14 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.time.Instant;
+
+import io.github.revisit_app.decksservice.entity.TrendingSaves;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface TrendingSavesQueries {
+
+  Flux<TrendingSaves> findByHour(Instant hour);
+
+  Mono<Void> addSaves(Instant hour, String deckId, long delta);
+}
@@ -0,0 +1,34 @@
+package io.github.revisit_app.decksservice.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+
+import io.github.revisit_app.decksservice.entity.TrendingSaves;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class TrendingSavesQueriesImpl implements TrendingSavesQueries {
+
+  private static final String ADD_SAVES = "UPDATE trending_saves SET saves = saves + ? WHERE hour = ? AND deck_id = ?";
+  static final List<String> STATEMENTS = List.of(ADD_SAVES);
+
+  private final ReactiveCassandraOperations ops;
+
+  @Override
+  public Flux<TrendingSaves> findByHour(Instant hour) {
+    return ops.select(Query.query(Criteria.where("hour").is(hour)), TrendingSaves.class);
+  }
+
+  @Override
+  public Mono<Void> addSaves(Instant hour, String deckId, long delta) {
+    return ops.getReactiveCqlOperations()
+        .execute(ADD_SAVES, delta, hour, deckId)
+        .then();
+  }
+}
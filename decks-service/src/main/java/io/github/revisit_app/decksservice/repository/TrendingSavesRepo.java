@@ -0,0 +1,13 @@
+package io.github.revisit_app.decksservice.repository;
+
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import io.github.revisit_app.decksservice.entity.TrendingSaves;
+
+// TrendingSavesQueries is listed again because Spring Data only looks up
+// *Impl classes for the repository's direct super-interfaces.
+public interface TrendingSavesRepo extends ReactiveCrudRepository<TrendingSaves, MapId>, TrendingSavesStore,
+    TrendingSavesQueries {
+
+}
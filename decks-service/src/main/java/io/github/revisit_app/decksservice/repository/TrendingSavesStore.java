@@ -0,0 +1,7 @@
+package io.github.revisit_app.decksservice.repository;
+
+// Storage operations TrendingDecks uses. TrendingSavesRepo provides them on
+// Cassandra and InMemoryTrendingSaves in the in-memory profile.
+public interface TrendingSavesStore extends TrendingSavesQueries {
+
+}
@@ -0,0 +1,9 @@
+package io.github.revisit_app.decksservice.service;
+
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import reactor.core.publisher.Mono;
+
+public interface AuthorResolver {
+
+  Mono<UserUDT> resolve(Long userId);
+}
@@ -0,0 +1,36 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import io.github.revisit_app.decksservice.util.DeckBatchResult;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+// Resolves many decks through the deck cache with bounded fan-out. Misses
+// become single-partition reads, which Cassandra serves better than a
+// multi-partition IN query.
+// Results are emitted in completion order.
+@Component
+@RequiredArgsConstructor
+public class DeckBatchLoader {
+
+  public static final int MAX_IDS = 500;
+  private static final int CONCURRENCY = 32;
+
+  private final DeckCache dc;
+
+  public Flux<DeckBatchResult> load(Collection<String> deckIds, Set<String> fields) {
+    return load(Flux.fromIterable(deckIds), fields);
+  }
+
+  public Flux<DeckBatchResult> load(Flux<String> deckIds, Set<String> fields) {
+    return deckIds
+        .distinct()
+        .flatMap(deckId -> dc.get(deckId, fields)
+            .map(deck -> DeckBatchResult.found(deck.project(fields)))
+            .defaultIfEmpty(DeckBatchResult.missing(deckId)), CONCURRENCY);
+  }
+}
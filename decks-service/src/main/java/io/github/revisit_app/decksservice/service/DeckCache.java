@@ -0,0 +1,83 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.github.revisit_app.decksservice.util.DeckData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+// Holds DeckData snapshots without their save count, and save counts apart
+// from them, joined when numSaves is projected; a save moves the deck's count
+// in place rather than evicting its snapshot. Concurrent misses for one deck
+// share a single load, stale entries are refreshed in the background, and
+// every deck mutation invalidates its snapshot.
+@Component
+public class DeckCache {
+
+  private static final Set<String> SNAPSHOT_FIELDS = DeckData.FIELDS.stream()
+      .filter(field -> !field.equals("numSaves"))
+      .collect(Collectors.toUnmodifiableSet());
+
+  private final DeckStore dr;
+  private final AsyncLoadingCache<String, DeckData> cache;
+  private final AsyncLoadingCache<String, Long> saves;
+
+  public DeckCache(DeckStore dr, DeckCacheProperties properties, MeterRegistry registry) {
+    this.dr = dr;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfterWrite(properties.getExpireAfterWrite())
+        .refreshAfterWrite(properties.getRefreshAfterWrite())
+        .recordStats()
+        .buildAsync((deckId, executor) -> dr.findDeckData(deckId, SNAPSHOT_FIELDS).toFuture());
+    this.saves = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfterWrite(properties.getExpireAfterWrite())
+        .refreshAfterWrite(properties.getRefreshAfterWrite())
+        .recordStats()
+        .buildAsync((deckId, executor) -> dr.countSaves(deckId).toFuture());
+    CaffeineCacheMetrics.monitor(registry, cache, "decks");
+    CaffeineCacheMetrics.monitor(registry, saves, "deck_saves");
+  }
+
+  // The default projection, as a copy of the snapshot with its save count.
+  public Mono<DeckData> get(String deckId) {
+    return Mono.fromFuture(() -> cache.get(deckId))
+        .flatMap(snapshot -> Mono.fromFuture(() -> saves.get(deckId))
+            .map(numSaves -> {
+              var data = snapshot.project(DeckData.FIELDS);
+              data.setNumSaves(numSaves);
+
+              return data;
+            }));
+  }
+
+  // Projections that include an optional field are not cached and are read
+  // from the store each time; ones without numSaves skip the save count.
+  public Mono<DeckData> get(String deckId, Set<String> fields) {
+    if (!DeckData.FIELDS.containsAll(fields))
+      return dr.findDeckData(deckId, fields);
+
+    return fields.contains("numSaves") ? get(deckId) : Mono.fromFuture(() -> cache.get(deckId));
+  }
+
+  public void invalidate(String deckId) {
+    cache.synchronous().invalidate(deckId);
+  }
+
+  // Applies a save or unsave to the cached count. A count still loading may
+  // or may not include the change, so it is dropped and read again instead.
+  public void addSaves(String deckId, long delta) {
+    saves.asMap().computeIfPresent(deckId, (id, count) -> count.isDone() && !count.isCompletedExceptionally()
+        ? count.thenApply(numSaves -> numSaves + delta)
+        : null);
+  }
+}
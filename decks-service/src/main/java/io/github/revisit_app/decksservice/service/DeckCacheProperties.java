@@ -0,0 +1,20 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.cache")
+@Getter
+@Setter
+public class DeckCacheProperties {
+
+  private long maximumSize = 10_000;
+
+  private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+  private Duration refreshAfterWrite = Duration.ofMinutes(1);
+}
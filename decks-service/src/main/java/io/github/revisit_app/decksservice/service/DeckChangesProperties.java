@@ -0,0 +1,18 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.changes")
+@Getter
+@Setter
+public class DeckChangesProperties {
+
+  private Duration retention = Duration.ofDays(7);
+
+  private int maxEntries = 1000;
+}
@@ -0,0 +1,84 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+
+import io.github.revisit_app.decksservice.util.DeckEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+// Routes deck events from the fan-out to the subscribers of each deck. A deck
+// only has a topic while it has subscribers, and every subscriber gets its own
+// bounded buffer that drops the oldest events when it falls behind, so a slow
+// client never holds up the others.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeckEventBus {
+
+  private final DeckEventFanout fanout;
+  private final DeckEventsProperties properties;
+  private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+  private Disposable dispatching;
+
+  private record Topic(Sinks.Many<DeckEvent> sink, AtomicInteger subscribers) {
+  }
+
+  @PostConstruct
+  public void start() {
+    dispatching = fanout.events()
+        .subscribe(this::dispatch, error -> log.error("Deck event fan-out failed", error));
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (dispatching != null)
+      dispatching.dispose();
+    topics.values().forEach(topic -> topic.sink().tryEmitComplete());
+  }
+
+  public void publish(DeckEvent event) {
+    fanout.publish(event)
+        .subscribe(null, error -> log.error("Could not publish {} event for deck: {}", event.getType(),
+            event.getDeckId(), error));
+  }
+
+  public Flux<DeckEvent> subscribe(String deckId) {
+    return Flux.defer(() -> {
+      // Counted inside compute so a topic is never removed between being
+      // looked up and being subscribed to.
+      var topic = topics.compute(deckId, (id, existing) -> {
+        var t = existing != null ? existing
+            : new Topic(Sinks.many().multicast().directBestEffort(), new AtomicInteger());
+        t.subscribers().incrementAndGet();
+
+        return t;
+      });
+
+      return topic.sink().asFlux()
+          .doFinally(signal -> topics.computeIfPresent(deckId,
+              (id, t) -> t.subscribers().decrementAndGet() == 0 ? null : t));
+    })
+        .onBackpressureBuffer(properties.getBufferSize(),
+            dropped -> log.debug("Dropped {} event for a slow subscriber of deck: {}", dropped.getType(), deckId),
+            BufferOverflowStrategy.DROP_OLDEST);
+  }
+
+  // Events arrive one at a time from the fan-out, which keeps emission into
+  // each topic serialized.
+  private void dispatch(DeckEvent event) {
+    var topic = topics.get(event.getDeckId());
+    if (topic != null)
+      topic.sink().tryEmitNext(event);
+  }
+}
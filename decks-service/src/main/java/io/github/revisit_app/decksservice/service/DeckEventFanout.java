@@ -0,0 +1,15 @@
+package io.github.revisit_app.decksservice.service;
+
+import io.github.revisit_app.decksservice.util.DeckEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Carries deck events between service instances. Every instance publishes the
+// events of its own writes and receives the events of all instances,
+// including its own, from events().
+public interface DeckEventFanout {
+
+  Mono<Void> publish(DeckEvent event);
+
+  Flux<DeckEvent> events();
+}
@@ -0,0 +1,20 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.events")
+@Getter
+@Setter
+public class DeckEventsProperties {
+
+  private String fanout = "in-memory";
+
+  private int bufferSize = 256;
+
+  private Duration heartbeatInterval = Duration.ofSeconds(30);
+}
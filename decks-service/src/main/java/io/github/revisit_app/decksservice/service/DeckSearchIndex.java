@@ -0,0 +1,442 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.github.revisit_app.decksservice.util.DeckEvent;
+import io.github.revisit_app.decksservice.util.SearchHit;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// In-process inverted index over deck titles and descriptions. It is built by
+// scanning the deck table on startup and every rebuild interval, and kept
+// current in between by the deck events of every instance, read back from the
+// fan-out, and by this instance's saves. Every query token must
+// match a term exactly or as a prefix; title matches weigh more than
+// description matches, exact matches more than prefixes, and the text score
+// is boosted by the log of the deck's saves. Save counts are a ranking hint
+// and may drift slightly between rebuilds.
+@Slf4j
+@Component
+public class DeckSearchIndex {
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final int MAX_TOKEN_LENGTH = 32;
+  private static final int MAX_QUERY_TOKENS = 8;
+  private static final int MIN_PREFIX_LENGTH = 2;
+
+  private static final Set<String> INDEXED_FIELDS = Set.of("id", "title", "desc");
+
+  private final DeckStore dr;
+  private final DeckEventFanout fanout;
+  private final SearchProperties properties;
+  private volatile Segment current = new Segment();
+  private volatile Segment building;
+  private final Set<String> touched = ConcurrentHashMap.newKeySet();
+  private final Set<String> savesTouched = ConcurrentHashMap.newKeySet();
+  private Disposable rebuilding;
+  private Disposable following;
+
+  public DeckSearchIndex(DeckStore dr, DeckEventFanout fanout, SearchProperties properties) {
+    this.dr = dr;
+    this.fanout = fanout;
+    this.properties = properties;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!properties.isEnabled())
+      return;
+    log.info("Rebuilding the deck search index every {}", properties.getRebuildInterval());
+    rebuilding = Flux.interval(Duration.ZERO, properties.getRebuildInterval())
+        .onBackpressureDrop()
+        .concatMap(tick -> rebuild()
+            .onErrorResume(error -> {
+              log.error("Could not rebuild the deck search index", error);
+
+              return Mono.empty();
+            }))
+        .subscribe();
+    following = fanout.events()
+        .concatMap(event -> follow(event)
+            .onErrorResume(error -> {
+              log.error("Could not index {} event for deck: {}", event.getType(), event.getDeckId(), error);
+
+              return Mono.empty();
+            }))
+        .subscribe(null, error -> log.error("Deck event fan-out failed", error));
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (rebuilding != null)
+      rebuilding.dispose();
+    if (following != null)
+      following.dispose();
+  }
+
+  // Events are followed one at a time, so a deck read for an update cannot
+  // land after the deck's deletion. Card events do not change the index.
+  Mono<Void> follow(DeckEvent event) {
+    var deckId = event.getDeckId();
+
+    return switch (event.getType()) {
+      case CREATED, UPDATED -> dr.findDeckData(deckId, INDEXED_FIELDS)
+          .doOnNext(data -> put(deckId, data.getTitle(), data.getDesc()))
+          .switchIfEmpty(Mono.fromRunnable(() -> remove(deckId)))
+          .then();
+      case DELETED -> Mono.fromRunnable(() -> remove(deckId));
+      case CARDS -> Mono.empty();
+    };
+  }
+
+  public List<SearchHit> search(String query, int limit) {
+    var tokens = tokenize(query);
+    if (tokens.isEmpty())
+      return List.of();
+
+    return current.search(tokens.size() > MAX_QUERY_TOKENS ? tokens.subList(0, MAX_QUERY_TOKENS) : tokens, limit,
+        properties.getMaxExpansions());
+  }
+
+  public void put(String deckId, String title, String desc) {
+    apply(deckId, segment -> segment.put(deckId, title, desc));
+  }
+
+  public void remove(String deckId) {
+    apply(deckId, segment -> segment.remove(deckId));
+  }
+
+  // While a rebuild is scanning, saves only go to the live segment and the
+  // deck is marked; the new segment takes the live count of marked decks at
+  // the swap instead of a scanned count that may or may not include them.
+  public void addSaves(String deckId, long delta) {
+    var next = building;
+    if (next == null) {
+      current.addSaves(deckId, delta);
+      return;
+    }
+    synchronized (next) {
+      savesTouched.add(deckId);
+      current.addSaves(deckId, delta);
+    }
+  }
+
+  // While a rebuild is scanning, changes go to both segments, and changed
+  // decks are marked so that an older row arriving later from the scan cannot
+  // overwrite them. The swap takes the same monitor, so a change is applied
+  // to the new segment exactly once.
+  private void apply(String deckId, Consumer<Segment> change) {
+    var next = building;
+    if (next == null) {
+      change.accept(current);
+      return;
+    }
+    synchronized (next) {
+      touched.add(deckId);
+      change.accept(next);
+      if (current != next)
+        change.accept(current);
+    }
+  }
+
+  public Mono<Void> rebuild() {
+    return Mono.defer(() -> {
+      var segment = new Segment();
+      touched.clear();
+      savesTouched.clear();
+      building = segment;
+      var start = System.nanoTime();
+
+      return dr.scanDecks()
+          .doOnNext(data -> {
+            synchronized (segment) {
+              if (!touched.contains(data.getId()))
+                segment.put(data.getId(), data.getTitle(), data.getDesc());
+            }
+          })
+          .thenMany(dr.scanSaves())
+          .doOnNext(data -> {
+            synchronized (segment) {
+              if (!savesTouched.contains(data.getId()))
+                segment.setSaves(data.getId(), data.getNumSaves());
+            }
+          })
+          .then(Mono.fromRunnable(() -> {
+            synchronized (segment) {
+              var live = current;
+              for (var deckId : savesTouched)
+                segment.setSaves(deckId, live.saves(deckId));
+              current = segment;
+              building = null;
+            }
+            log.info("Indexed {} decks in {} ms", segment.size(), (System.nanoTime() - start) / 1_000_000);
+          }))
+          .doFinally(signal -> {
+            building = null;
+            touched.clear();
+            savesTouched.clear();
+          })
+          .then();
+    });
+  }
+
+  static List<String> tokenize(String text) {
+    if (text == null || text.isBlank())
+      return List.of();
+    var folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+        .toLowerCase(Locale.ROOT);
+    var tokens = new LinkedHashSet<String>();
+    for (var token : SEPARATORS.split(folded)) {
+      if (!token.isEmpty())
+        tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+    }
+
+    return new ArrayList<>(tokens);
+  }
+
+  // Postings are int arrays of (doc << 1 | inTitle), in increasing doc order
+  // because docs are only ever appended. Updating a deck appends a new doc and
+  // tombstones the old one; tombstoned postings are dropped by the next
+  // rebuild.
+  private static class Segment {
+
+    // Match weights by code: prefix in desc, exact in desc, prefix in title,
+    // exact in title.
+    private static final float[] WEIGHTS = { 0f, 0.5f, 1f, 1f, 2f };
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::getScore)
+        .thenComparing(SearchHit::getId, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> docs = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private String[] deckIds = new String[1024];
+    private int[] saves = new int[1024];
+    private int next;
+
+    int size() {
+      lock.readLock().lock();
+      try {
+        return docs.size();
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    void put(String deckId, String title, String desc) {
+      var titleTokens = new HashSet<>(tokenize(title));
+      var tokens = new LinkedHashSet<>(titleTokens);
+      tokens.addAll(tokenize(desc));
+      lock.writeLock().lock();
+      try {
+        var previous = docs.get(deckId);
+        if (next == deckIds.length) {
+          deckIds = Arrays.copyOf(deckIds, next * 2);
+          saves = Arrays.copyOf(saves, next * 2);
+        }
+        var doc = next++;
+        deckIds[doc] = deckId;
+        if (previous != null) {
+          deleted.set(previous);
+          saves[doc] = saves[previous];
+        }
+        docs.put(deckId, doc);
+        for (var token : tokens)
+          terms.computeIfAbsent(token, t -> new Postings()).add(doc << 1 | (titleTokens.contains(token) ? 1 : 0));
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void remove(String deckId) {
+      lock.writeLock().lock();
+      try {
+        var doc = docs.remove(deckId);
+        if (doc != null)
+          deleted.set(doc);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void setSaves(String deckId, Long count) {
+      lock.writeLock().lock();
+      try {
+        var doc = docs.get(deckId);
+        if (doc != null && count != null)
+          saves[doc] = (int) Math.max(0, Math.min(Integer.MAX_VALUE, count));
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    Long saves(String deckId) {
+      lock.readLock().lock();
+      try {
+        var doc = docs.get(deckId);
+
+        return doc == null ? null : Long.valueOf(saves[doc]);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    void addSaves(String deckId, long delta) {
+      lock.writeLock().lock();
+      try {
+        var doc = docs.get(deckId);
+        if (doc != null)
+          saves[doc] = (int) Math.max(0, Math.min(Integer.MAX_VALUE, saves[doc] + delta));
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    List<SearchHit> search(List<String> tokens, int limit, int maxExpansions) {
+      lock.readLock().lock();
+      try {
+        int[] candidates = null;
+        float[] scores = null;
+        var count = 0;
+        for (var token : tokens) {
+          var matches = matches(token, maxExpansions);
+          if (candidates == null) {
+            count = matches.length;
+            candidates = new int[count];
+            scores = new float[count];
+            for (int i = 0; i < count; i++) {
+              candidates[i] = (int) (matches[i] >>> 3);
+              scores[i] = WEIGHTS[(int) (matches[i] & 7)];
+            }
+          } else {
+            count = intersect(candidates, scores, count, matches);
+          }
+          if (count == 0)
+            return List.of();
+        }
+
+        return top(candidates, scores, count, limit);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    // Every doc matching the token, as (doc << 3 | weight code) in doc order,
+    // keeping the best match per doc.
+    private long[] matches(String token, int maxExpansions) {
+      var lists = new ArrayList<Postings>();
+      var exact = new ArrayList<Boolean>();
+      var total = 0;
+      var expansions = 0;
+      var term = terms.get(token);
+      if (term != null) {
+        lists.add(term);
+        exact.add(true);
+        total += term.size;
+      }
+      if (token.length() >= MIN_PREFIX_LENGTH) {
+        for (var postings : terms.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+          if (expansions++ == maxExpansions)
+            break;
+          lists.add(postings);
+          exact.add(false);
+          total += postings.size;
+        }
+      }
+      var matches = new long[total];
+      var n = 0;
+      for (int l = 0; l < lists.size(); l++) {
+        var postings = lists.get(l);
+        var base = exact.get(l) ? 2 : 1;
+        for (int i = 0; i < postings.size; i++) {
+          var entry = postings.entries[i];
+          matches[n++] = (long) (entry >>> 1) << 3 | (base + 2 * (entry & 1));
+        }
+      }
+      if (lists.size() > 1)
+        Arrays.sort(matches);
+      // Sorted by doc then code, so the last entry of each doc is its best.
+      var distinct = 0;
+      for (int i = 0; i < n; i++) {
+        if (i + 1 < n && matches[i + 1] >>> 3 == matches[i] >>> 3)
+          continue;
+        matches[distinct++] = matches[i];
+      }
+
+      return Arrays.copyOf(matches, distinct);
+    }
+
+    private static int intersect(int[] candidates, float[] scores, int count, long[] matches) {
+      var kept = 0;
+      var j = 0;
+      for (int i = 0; i < count && j < matches.length; i++) {
+        while (j < matches.length && (matches[j] >>> 3) < candidates[i])
+          j++;
+        if (j < matches.length && (matches[j] >>> 3) == candidates[i]) {
+          candidates[kept] = candidates[i];
+          scores[kept] = scores[i] + WEIGHTS[(int) (matches[j] & 7)];
+          kept++;
+        }
+      }
+
+      return kept;
+    }
+
+    private List<SearchHit> top(int[] candidates, float[] scores, int count, int limit) {
+      var heap = new PriorityQueue<SearchHit>(RANKING);
+      for (int i = 0; i < count; i++) {
+        var doc = candidates[i];
+        if (deleted.get(doc))
+          continue;
+        var score = scores[i] * (1 + Math.log1p(saves[doc]));
+        if (heap.size() < limit || score > heap.peek().getScore()) {
+          heap.offer(new SearchHit(deckIds[doc], score));
+          if (heap.size() > limit)
+            heap.poll();
+        }
+      }
+
+      return heap.stream().sorted(RANKING.reversed()).toList();
+    }
+  }
+
+  private static class Postings {
+
+    private int[] entries = new int[4];
+    private int size;
+
+    void add(int entry) {
+      if (size == entries.length)
+        entries = Arrays.copyOf(entries, size + (size >> 1));
+      entries[size++] = entry;
+    }
+  }
+}
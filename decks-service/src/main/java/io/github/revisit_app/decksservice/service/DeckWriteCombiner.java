@@ -0,0 +1,227 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+// Coalesces concurrent writes to the same deck. Each deck gets a lane with at
+// most one write in flight; mutations that arrive meanwhile queue up and are
+// applied together by the next write, so a hot deck costs one conditional
+// update per round trip instead of one per request. Card edits are folded in
+// arrival order into a single set of additions and removals, and of several
+// title/description updates the last one wins, as it would if they had been
+// applied one after the other. Every caller is completed with the outcome of
+// the write that carried its mutation: for card edits, whether its own edit
+// changed the deck, as if the edits had been applied in arrival order, or
+// empty if the deck does not exist.
+@Component
+public class DeckWriteCombiner {
+
+  private static final int MAX_BATCH = 256;
+
+  private final DeckStore dr;
+  private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+  private final DistributionSummary batchSize;
+
+  public DeckWriteCombiner(DeckStore dr, MeterRegistry registry) {
+    this.dr = dr;
+    this.batchSize = DistributionSummary.builder("decks.write.combined")
+        .description("Mutations applied by one combined deck write")
+        .register(registry);
+  }
+
+  // Whether the edit changed the deck; empty if the deck does not exist.
+  public Mono<Boolean> updateCards(String deckId, Set<String> add, Set<String> remove) {
+    return submit(deckId, sink -> new CardsUpdate(sink, add, remove));
+  }
+
+  public Mono<Boolean> updateDeck(Deck deck, String title, String desc, Instant dateUpdated) {
+    return submit(deck.getId(), sink -> new DeckUpdate(sink, deck, title, desc, dateUpdated));
+  }
+
+  // Mutations are queued inside compute and idle lanes are only removed
+  // inside compute, so a mutation never lands in a lane that is being
+  // removed, and a deck never has two lanes writing at once.
+  private Mono<Boolean> submit(String deckId, Function<MonoSink<Boolean>, Mutation> mutation) {
+    return Mono.create(sink -> {
+      var lane = lanes.compute(deckId, (id, existing) -> {
+        var l = existing != null ? existing : new Lane();
+        l.queue.add(mutation.apply(sink));
+
+        return l;
+      });
+      drain(deckId, lane);
+    });
+  }
+
+  // Work-in-progress loop: whoever moves wip off zero drains, everyone else
+  // just marks that there is more to do. A write that completes synchronously
+  // re-enters here and is picked up by the loop instead of recursing.
+  private void drain(String deckId, Lane lane) {
+    if (lane.wip.getAndIncrement() != 0)
+      return;
+    var missed = 1;
+    do {
+      if (!lane.busy) {
+        var batch = lane.poll();
+        if (batch.isEmpty()) {
+          lanes.computeIfPresent(deckId, (id, l) -> l == lane && l.queue.isEmpty() ? null : l);
+        } else {
+          lane.busy = true;
+          batchSize.record(batch.size());
+          write(deckId, batch)
+              .doFinally(signal -> {
+                lane.busy = false;
+                drain(deckId, lane);
+              })
+              .subscribe();
+        }
+      }
+      missed = lane.wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private Mono<Void> write(String deckId, List<Mutation> batch) {
+    var cards = new ArrayList<CardsUpdate>();
+    var updates = new ArrayList<DeckUpdate>();
+    for (var mutation : batch) {
+      if (mutation instanceof CardsUpdate update)
+        cards.add(update);
+      else
+        updates.add((DeckUpdate) mutation);
+    }
+
+    // Both writes are conditional on the deck's version, so they run one
+    // after the other; sent together, one of them would always lose and
+    // retry. Each group of callers completes with its own write.
+    var deck = updates.isEmpty() ? Mono.<Void>empty() : complete(updates, writeDeck(updates.get(updates.size() - 1)));
+
+    return cards.isEmpty() ? deck : deck.then(Mono.defer(() -> writeCards(deckId, cards)));
+  }
+
+  private Mono<Boolean> writeDeck(DeckUpdate update) {
+    return dr.updateDeck(update.deck, update.title, update.desc, update.dateUpdated);
+  }
+
+  private Mono<Void> writeCards(String deckId, List<CardsUpdate> updates) {
+    var add = new LinkedHashSet<String>();
+    var remove = new LinkedHashSet<String>();
+    for (var update : updates) {
+      add.removeAll(update.remove);
+      remove.addAll(update.remove);
+      remove.removeAll(update.add);
+      add.addAll(update.add);
+    }
+    // Nothing to write, but callers still learn what their edits did.
+    var present = add.isEmpty() && remove.isEmpty()
+        ? dr.findCards(deckId)
+        : dr.updateCards(deckId, add, remove).map(change -> present(add, change));
+
+    return present
+        .doOnNext(cards -> replay(updates, new HashSet<>(cards)))
+        .switchIfEmpty(Mono.fromRunnable(() -> updates.forEach(update -> update.sink.success())))
+        .doOnError(error -> updates.forEach(update -> update.sink.error(error)))
+        .onErrorResume(error -> Mono.empty())
+        .then();
+  }
+
+  // The edited cards that were in the deck before the write: an addition that
+  // did not add a card found it there, and a removal that removed one did.
+  private static Set<String> present(Set<String> add, DeckChange change) {
+    var present = new HashSet<>(change.getRemoved());
+    add.stream().filter(cardId -> !change.getAdded().contains(cardId)).forEach(present::add);
+
+    return present;
+  }
+
+  private static void replay(List<CardsUpdate> updates, Set<String> present) {
+    for (var update : updates) {
+      var changed = false;
+      for (var cardId : update.remove)
+        changed |= present.remove(cardId);
+      for (var cardId : update.add)
+        changed |= present.add(cardId);
+      update.sink.success(changed);
+    }
+  }
+
+  private static Mono<Void> complete(List<? extends Mutation> mutations, Mono<Boolean> write) {
+    return write
+        .doOnNext(applied -> mutations.forEach(mutation -> mutation.sink.success(applied)))
+        .doOnError(error -> mutations.forEach(mutation -> mutation.sink.error(error)))
+        .onErrorResume(error -> Mono.empty())
+        .then();
+  }
+
+  private static class Lane {
+
+    private final Queue<Mutation> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean busy;
+
+    List<Mutation> poll() {
+      var batch = new ArrayList<Mutation>();
+      Mutation mutation;
+      while (batch.size() < MAX_BATCH && (mutation = queue.poll()) != null)
+        batch.add(mutation);
+
+      return batch;
+    }
+  }
+
+  private abstract static class Mutation {
+
+    final MonoSink<Boolean> sink;
+
+    Mutation(MonoSink<Boolean> sink) {
+      this.sink = sink;
+    }
+  }
+
+  private static class CardsUpdate extends Mutation {
+
+    final Set<String> add;
+    final Set<String> remove;
+
+    CardsUpdate(MonoSink<Boolean> sink, Set<String> add, Set<String> remove) {
+      super(sink);
+      this.add = add;
+      this.remove = remove;
+    }
+  }
+
+  private static class DeckUpdate extends Mutation {
+
+    final Deck deck;
+    final String title;
+    final String desc;
+    final Instant dateUpdated;
+
+    DeckUpdate(MonoSink<Boolean> sink, Deck deck, String title, String desc, Instant dateUpdated) {
+      super(sink);
+      this.deck = deck;
+      this.title = title;
+      this.desc = desc;
+      this.dateUpdated = dateUpdated;
+    }
+  }
+}
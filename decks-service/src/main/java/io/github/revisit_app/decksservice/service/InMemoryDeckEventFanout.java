@@ -0,0 +1,33 @@
+package io.github.revisit_app.decksservice.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.github.revisit_app.decksservice.util.DeckEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// Loops events back within this instance; for single-instance deployments
+// and tests.
+@Component
+@ConditionalOnProperty(prefix = "decks.events", name = "fanout", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryDeckEventFanout implements DeckEventFanout {
+
+  private final Sinks.Many<DeckEvent> sink = Sinks.many().multicast().directBestEffort();
+
+  @Override
+  public Mono<Void> publish(DeckEvent event) {
+    return Mono.fromRunnable(() -> {
+      // Publishers run on any request thread; sinks require serialized emission.
+      synchronized (sink) {
+        sink.tryEmitNext(event);
+      }
+    });
+  }
+
+  @Override
+  public Flux<DeckEvent> events() {
+    return sink.asFlux();
+  }
+}
@@ -0,0 +1,19 @@
+package io.github.revisit_app.decksservice.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import reactor.core.publisher.Mono;
+
+// Stands in for user-registration in the in-memory profile; every user id
+// resolves to a placeholder author.
+@Component
+@Profile("in-memory")
+public class LocalAuthorResolver implements AuthorResolver {
+
+  @Override
+  public Mono<UserUDT> resolve(Long userId) {
+    return Mono.just(new UserUDT(userId, "user" + userId, null, null));
+  }
+}
@@ -0,0 +1,255 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.github.revisit_app.decksservice.connection.UserProfileProperties;
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry;
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry.Action;
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.github.revisit_app.decksservice.repository.ProfileOutboxRepo;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+
+// Delivers profile updates recorded in the profile outbox alongside deck
+// writes. Each poll reads the due entries of every bucket this instance holds
+// the lease of, from the bucket's cursor slot up to the current one, and
+// delivers them in due order, several buckets at a time; entries are bucketed
+// by deck, so a deck's ADD and REMOVE go out in the order they were written.
+// Failed deliveries are moved to a later due time with capped exponential
+// backoff, and dead-lettered once they run out of attempts. Deliveries carry
+// the entry id as an Idempotency-Key, since an entry may be sent more than
+// once.
+@Slf4j
+@Component
+@Profile("!in-memory")
+public class ProfileOutboxDispatcher {
+
+  // Bounds the slots a poll reads when a bucket's cursor is far behind.
+  private static final int MAX_SLOTS_PER_POLL = 24;
+
+  private final ProfileOutboxRepo por;
+  private final DeckStore dr;
+  private final ProfileOutboxProperties properties;
+  private final ConnectionProvider provider;
+  private final WebClient client;
+  private final Map<Integer, Instant> cursors = new ConcurrentHashMap<>();
+  private final Map<Integer, Lease> leases = new ConcurrentHashMap<>();
+  private final UUID owner = UUID.randomUUID();
+  private Disposable polling;
+
+  public ProfileOutboxDispatcher(ProfileOutboxRepo por, DeckStore dr, ProfileOutboxProperties properties,
+      UserProfileProperties profileProperties, WebClient.Builder wcb) {
+    this.por = por;
+    this.dr = dr;
+    this.properties = properties;
+    this.provider = profileProperties.connectionProvider("user-profile");
+    this.client = profileProperties.webClient(wcb, provider);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!properties.isEnabled())
+      return;
+    log.info("Dispatching profile outbox every {}", properties.getPollInterval());
+    polling = Flux.interval(properties.getPollInterval())
+        .onBackpressureDrop()
+        .concatMap(tick -> dispatchOnce()
+            .onErrorResume(error -> {
+              log.error("Could not poll profile outbox", error);
+
+              return Mono.just(0L);
+            }))
+        .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (polling != null)
+      polling.dispose();
+    provider.dispose();
+  }
+
+  public Mono<Long> dispatchOnce() {
+    var now = Instant.now();
+
+    return Flux.range(0, properties.getBuckets())
+        .flatMap(bucket -> lease(bucket, now)
+            .filter(Boolean::booleanValue)
+            .flatMap(held -> findDue(bucket, now).collectList())
+            .flatMapMany(this::deliverInOrder), properties.getConcurrency())
+        .filter(Boolean::booleanValue)
+        .count();
+  }
+
+  private record Lease(boolean held, Instant claimAt) {
+  }
+
+  // The lease is claimed again halfway through its duration, whether this
+  // instance holds it or is waiting for it to lapse, so each bucket costs one
+  // or two lightweight transactions per half lease rather than per poll. A
+  // bucket whose claim fails is skipped until the next claim.
+  private Mono<Boolean> lease(int bucket, Instant now) {
+    var lease = leases.get(bucket);
+    if (lease != null && now.isBefore(lease.claimAt()))
+      return Mono.just(lease.held());
+    var duration = properties.getLease();
+
+    return por.claimLease(bucket, owner, duration)
+        .doOnNext(held -> leases.put(bucket, new Lease(held, now.plus(duration.dividedBy(2)))))
+        .onErrorResume(error -> {
+          log.error("Could not claim profile outbox bucket: {}", bucket, error);
+          leases.remove(bucket);
+
+          return Mono.just(false);
+        });
+  }
+
+  // A deck's REMOVE is written after its ADD, but the ADD may have failed and
+  // been moved past it. An ADD that shares the batch with its deck's REMOVE is
+  // dropped, and a retried ADD is only sent while the deck still exists.
+  private Flux<Boolean> deliverInOrder(List<ProfileOutboxEntry> entries) {
+    var removed = entries.stream()
+        .filter(entry -> entry.getAction() == Action.REMOVE)
+        .map(ProfileOutboxDispatcher::target)
+        .collect(Collectors.toSet());
+
+    return Flux.fromIterable(entries)
+        .concatMap(entry -> superseded(entry, removed)
+            .flatMap(skip -> skip ? drop(entry) : deliver(entry)));
+  }
+
+  private Mono<Boolean> superseded(ProfileOutboxEntry entry, Set<String> removed) {
+    if (entry.getAction() != Action.ADD)
+      return Mono.just(false);
+    if (removed.contains(target(entry)))
+      return Mono.just(true);
+    if (entry.getAttempts() == null)
+      return Mono.just(false);
+
+    return dr.findAuthor(entry.getDeckId()).hasElement().map(exists -> !exists);
+  }
+
+  private Mono<Boolean> drop(ProfileOutboxEntry entry) {
+    log.info("Dropping ADD deck: {} for user: {} 's profile, the deck has been deleted", entry.getDeckId(),
+        entry.getUserId());
+
+    return por.complete(entry).thenReturn(false);
+  }
+
+  private static String target(ProfileOutboxEntry entry) {
+    return entry.getUserId() + "/" + entry.getDeckId();
+  }
+
+  // Slots are read oldest first. The cursor moves past leading slots that
+  // turn out empty once no new entries can land in them: new entries go to
+  // the current slot and rescheduled ones to later slots, so that is one slot
+  // behind the current one, which leaves room for clock skew between writers.
+  private Flux<ProfileOutboxEntry> findDue(int bucket, Instant now) {
+    var slotSize = properties.getSlotSize();
+    var current = ProfileOutboxEntry.slot(now, slotSize);
+    var settled = current.minus(slotSize);
+
+    return cursor(bucket, now).flatMapMany(from -> {
+      var slots = new ArrayList<Instant>();
+      for (var slot = from; !slot.isAfter(current) && slots.size() < MAX_SLOTS_PER_POLL; slot = slot.plus(slotSize))
+        slots.add(slot);
+      var next = new AtomicReference<>(from);
+
+      return Flux.fromIterable(slots)
+          .concatMap(slot -> por.findDue(bucket, slot, now, properties.getBatchSize())
+              .collectList()
+              .doOnNext(entries -> {
+                if (entries.isEmpty() && slot.equals(next.get()) && slot.isBefore(settled))
+                  next.set(slot.plus(slotSize));
+              }))
+          .concatMapIterable(Function.identity())
+          .concatWith(Mono.defer(() -> advance(bucket, from, next.get())).then(Mono.empty()));
+    });
+  }
+
+  private Mono<Instant> cursor(int bucket, Instant now) {
+    var cached = cursors.get(bucket);
+    if (cached != null)
+      return Mono.just(cached);
+
+    return por.findCursor(bucket)
+        .defaultIfEmpty(ProfileOutboxEntry.slot(now.minus(properties.getLookback()), properties.getSlotSize()))
+        .doOnNext(slot -> cursors.putIfAbsent(bucket, slot));
+  }
+
+  private Mono<Void> advance(int bucket, Instant from, Instant to) {
+    if (to.equals(from))
+      return Mono.empty();
+    cursors.put(bucket, to);
+
+    return por.saveCursor(bucket, to);
+  }
+
+  private Mono<Boolean> deliver(ProfileOutboxEntry entry) {
+    var method = entry.getAction() == ProfileOutboxEntry.Action.ADD ? HttpMethod.PUT : HttpMethod.DELETE;
+
+    return client.method(method)
+        .uri("/{userId}/decks", entry.getUserId())
+        .header("deckId", entry.getDeckId())
+        .header("Idempotency-Key", entry.getId().toString())
+        .retrieve()
+        .toBodilessEntity()
+        .then(por.complete(entry))
+        .thenReturn(true)
+        .onErrorResume(error -> {
+          var attempts = entry.getAttempts() == null ? 1 : entry.getAttempts() + 1;
+          if (attempts >= properties.getMaxAttempts() || rejected(error)) {
+            log.error("Giving up on {} deck: {} for user: {} 's profile after {} attempts",
+                entry.getAction(), entry.getDeckId(), entry.getUserId(), attempts, error);
+            entry.setAttempts(attempts);
+
+            return por.deadLetter(entry, error.toString()).thenReturn(false);
+          }
+          var backoff = backoff(attempts);
+          log.error("Could not {} deck: {} for user: {} 's profile (attempt {}), retrying in {}",
+              entry.getAction(), entry.getDeckId(), entry.getUserId(), attempts, backoff);
+
+          return por.reschedule(entry, entry.retry(attempts, Instant.now().plus(backoff), properties.getSlotSize()))
+              .thenReturn(false);
+        });
+  }
+
+  // Client errors other than timeouts and throttling will not go away on
+  // their own.
+  private static boolean rejected(Throwable error) {
+    if (!(error instanceof WebClientResponseException response))
+      return false;
+    var status = response.getRawStatusCode();
+
+    return status >= 400 && status < 500 && status != 408 && status != 429;
+  }
+
+  private Duration backoff(int attempts) {
+    var backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+
+    return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.outbox")
+@Getter
+@Setter
+public class ProfileOutboxProperties {
+
+  private boolean enabled = true;
+
+  private int buckets = 16;
+
+  private int batchSize = 100;
+
+  // Buckets delivered at once; entries within a bucket go out one by one.
+  private int concurrency = 16;
+
+  private Duration pollInterval = Duration.ofSeconds(1);
+
+  private Duration initialBackoff = Duration.ofSeconds(1);
+
+  private Duration maxBackoff = Duration.ofMinutes(5);
+
+  // Deliveries that fail this many times, or are rejected with a client
+  // error, go to profile_outbox_dead.
+  private int maxAttempts = 10;
+
+  // Width of the time slots entries are partitioned by.
+  private Duration slotSize = Duration.ofHours(1);
+
+  // How far back a bucket that has no cursor yet is read from.
+  private Duration lookback = Duration.ofHours(6);
+
+  // How long a bucket's lease lasts; its owner renews it halfway through.
+  private Duration lease = Duration.ofSeconds(30);
+}
@@ -0,0 +1,63 @@
+package io.github.revisit_app.decksservice.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.revisit_app.decksservice.connection.UserRegistrationProperties;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import io.github.revisit_app.decksservice.exception.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+
+// Resolves deck authors from the user-registration service over one pooled
+// client. Lookups are cached per user for a short TTL and concurrent lookups
+// of the same user share one request; failed lookups are not cached.
+@Slf4j
+@Component
+@Profile("!in-memory")
+public class RegistrationAuthorResolver implements AuthorResolver, DisposableBean {
+
+  private final ConnectionProvider provider;
+  private final WebClient client;
+  private final AsyncCache<Long, UserUDT> authors;
+
+  public RegistrationAuthorResolver(WebClient.Builder wcb, UserRegistrationProperties properties, MeterRegistry registry) {
+    this.provider = properties.connectionProvider("user-registration");
+    this.client = properties.webClient(wcb, provider);
+    this.authors = Caffeine.newBuilder()
+        .maximumSize(properties.getCacheMaximumSize())
+        .expireAfterWrite(properties.getCacheTtl())
+        .recordStats()
+        .buildAsync();
+    CaffeineCacheMetrics.monitor(registry, authors, "authors");
+  }
+
+  @Override
+  public Mono<UserUDT> resolve(Long userId) {
+    return Mono.fromFuture(() -> authors.get(userId, (id, executor) -> fetch(id).toFuture()));
+  }
+
+  private Mono<UserUDT> fetch(Long userId) {
+    log.info("Resolving user: {}", userId);
+
+    return client.get()
+        .uri("/{id}", userId)
+        .retrieve()
+        .onStatus(HttpStatus::is4xxClientError, res -> Mono.error(new UserNotFoundException()))
+        .bodyToMono(UserUDT.class);
+  }
+
+  @Override
+  public void destroy() {
+    provider.dispose();
+  }
+}
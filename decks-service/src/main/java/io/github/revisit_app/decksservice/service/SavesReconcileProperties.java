@@ -0,0 +1,20 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.saves-reconcile")
+@Getter
+@Setter
+public class SavesReconcileProperties {
+
+  private boolean enabled = true;
+
+  private Duration interval = Duration.ofMinutes(1);
+
+  private int concurrency = 8;
+}
@@ -0,0 +1,126 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Repairs the writes that follow a save or unsave once the lightweight
+// transaction on deck_saves has decided it, when they failed. deck_saves is
+// the source of truth: a deck's counter is moved to its partition size, and
+// a user's saved deck row is written or deleted to match its membership.
+// Pending repairs live in memory and are lost when the instance stops;
+// every failure is logged, and SavedByBackfill reconciles all counters.
+@Slf4j
+@Component
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class SavesReconciler {
+
+  private static final String COUNT_SAVERS = "SELECT COUNT(*) FROM deck_saves WHERE deck_id = ?";
+  private static final String COUNT_SAVES = "SELECT num_saves FROM deck_counters WHERE deck_id = ?";
+  private static final String UPDATE_SAVES = "UPDATE deck_counters SET num_saves = num_saves + ? WHERE deck_id = ?";
+  private static final String SELECT_SAVE = "SELECT user_id FROM deck_saves WHERE deck_id = ? AND user_id = ?";
+  private static final String ADD_SAVED_DECK = "INSERT INTO user_saved_decks (user_id, deck_id, saved_at) VALUES (?, ?, toTimestamp(now()))";
+  private static final String REMOVE_SAVED_DECK = "DELETE FROM user_saved_decks WHERE user_id = ? AND deck_id = ?";
+
+  private final ReactiveCassandraOperations ops;
+  private final SavesReconcileProperties properties;
+  private final Set<String> counters = ConcurrentHashMap.newKeySet();
+  private final Set<SavedDeck> savedDecks = ConcurrentHashMap.newKeySet();
+  private Disposable reconciling;
+
+  private record SavedDeck(Long userId, String deckId) {
+  }
+
+  public void counterFailed(String deckId) {
+    counters.add(deckId);
+  }
+
+  public void savedDeckFailed(Long userId, String deckId) {
+    savedDecks.add(new SavedDeck(userId, deckId));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!properties.isEnabled())
+      return;
+    log.info("Reconciling failed save writes every {}", properties.getInterval());
+    reconciling = Flux.interval(properties.getInterval())
+        .onBackpressureDrop()
+        .concatMap(tick -> reconcileOnce()
+            .onErrorResume(error -> {
+              log.error("Could not reconcile saves", error);
+
+              return Mono.empty();
+            }))
+        .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (reconciling != null)
+      reconciling.dispose();
+  }
+
+  // Entries are taken off the queue before they are repaired and put back if
+  // the repair fails, so a failure during the repair is not lost either.
+  public Mono<Void> reconcileOnce() {
+    var concurrency = properties.getConcurrency();
+
+    return Flux.fromIterable(Set.copyOf(savedDecks))
+        .filter(savedDecks::remove)
+        .flatMap(savedDeck -> reconcile(savedDeck)
+            .doOnError(error -> savedDecks.add(savedDeck))
+            .onErrorResume(error -> Mono.empty()), concurrency)
+        .thenMany(Flux.fromIterable(Set.copyOf(counters)))
+        .filter(counters::remove)
+        .flatMap(deckId -> reconcile(deckId)
+            .doOnError(error -> counters.add(deckId))
+            .onErrorResume(error -> Mono.empty()), concurrency)
+        .then();
+  }
+
+  private Mono<Void> reconcile(SavedDeck savedDeck) {
+    var cql = ops.getReactiveCqlOperations();
+
+    return cql.queryForFlux(SELECT_SAVE, Long.class, savedDeck.deckId(), savedDeck.userId())
+        .hasElements()
+        .flatMap(saved -> saved
+            ? cql.execute(ADD_SAVED_DECK, savedDeck.userId(), savedDeck.deckId())
+            : cql.execute(REMOVE_SAVED_DECK, savedDeck.userId(), savedDeck.deckId()))
+        .doOnSuccess(applied -> log.info("Reconciled saved deck: {} of user: {}", savedDeck.deckId(),
+            savedDeck.userId()))
+        .then();
+  }
+
+  // A save landing between the count and the adjustment is counted twice;
+  // the window is one round trip, against a drift that would otherwise last.
+  private Mono<Void> reconcile(String deckId) {
+    var cql = ops.getReactiveCqlOperations();
+
+    return Mono.zip(
+        cql.queryForObject(COUNT_SAVERS, Long.class, deckId),
+        cql.queryForFlux(COUNT_SAVES, Long.class, deckId).next().defaultIfEmpty(0L))
+        .flatMap(t -> {
+          var drift = t.getT1() - t.getT2();
+          if (drift == 0)
+            return Mono.empty();
+          log.info("Adjusting saves of deck: {} by {}", deckId, drift);
+
+          return cql.execute(UPDATE_SAVES, drift, deckId).then();
+        });
+  }
+}
@@ -0,0 +1,26 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.search")
+@Getter
+@Setter
+public class SearchProperties {
+
+  private boolean enabled = true;
+
+  private int maxResults = 100;
+
+  // Upper bound on the terms a query token may expand to by prefix.
+  private int maxExpansions = 256;
+
+  // The index follows deck events from every instance; it is rebuilt from the
+  // deck table at this interval to catch up on events the fan-out dropped and
+  // on save counts, and to drop deleted postings.
+  private Duration rebuildInterval = Duration.ofHours(1);
+}
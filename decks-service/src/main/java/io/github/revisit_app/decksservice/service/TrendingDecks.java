@@ -0,0 +1,171 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.github.revisit_app.decksservice.entity.TrendingSaves;
+import io.github.revisit_app.decksservice.repository.TrendingSavesStore;
+import io.github.revisit_app.decksservice.util.TrendingDeck;
+import io.github.revisit_app.decksservice.util.TrendingWindow;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Ranks decks by saves over the trailing hour, day and week. Each instance
+// buffers the save deltas it sees and checkpoints them into hourly counter
+// partitions of trending_saves, then reloads the partitions that may still
+// change and rebuilds the top-K lists served to readers. Closed hours are
+// only read once, so state survives restarts and sums the traffic of every
+// instance. Windows are hour-aligned and include the previous, partial hour.
+@Slf4j
+@Component
+public class TrendingDecks {
+
+  private static final Duration HOUR = Duration.ofHours(1);
+  private static final Comparator<TrendingDeck> RANKING = Comparator.comparingLong(TrendingDeck::getSaves)
+      .thenComparing(TrendingDeck::getId, Comparator.reverseOrder());
+
+  private final TrendingSavesStore tsr;
+  private final TrendingProperties properties;
+  private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+  private final Map<Instant, Map<String, Long>> hours = new ConcurrentHashMap<>();
+  private volatile Map<TrendingWindow, List<TrendingDeck>> leaderboards = Map.of();
+  private Disposable checkpointing;
+
+  public TrendingDecks(TrendingSavesStore tsr, TrendingProperties properties) {
+    this.tsr = tsr;
+    this.properties = properties;
+  }
+
+  private record Key(Instant hour, String deckId) {
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!properties.isEnabled())
+      return;
+    log.info("Checkpointing trending decks every {}", properties.getCheckpointInterval());
+    checkpointing = Flux.interval(Duration.ZERO, properties.getCheckpointInterval())
+        .onBackpressureDrop()
+        .concatMap(tick -> checkpoint()
+            .onErrorResume(error -> {
+              log.error("Could not checkpoint trending decks", error);
+
+              return Mono.empty();
+            }))
+        .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (checkpointing == null)
+      return;
+    checkpointing.dispose();
+    flush().block(properties.getCheckpointInterval());
+  }
+
+  public void record(String deckId, long delta) {
+    if (properties.isEnabled())
+      pending.merge(new Key(hourOf(Instant.now()), deckId), delta, Long::sum);
+  }
+
+  public List<TrendingDeck> top(TrendingWindow window, int limit) {
+    var leaderboard = leaderboards.getOrDefault(window, List.of());
+
+    return leaderboard.subList(0, Math.min(limit, leaderboard.size()));
+  }
+
+  public Mono<Void> checkpoint() {
+    var now = Instant.now();
+
+    return flush()
+        .then(reload(now))
+        .doOnSuccess(v -> rebuild(now));
+  }
+
+  // Entries are removed atomically, so deltas recorded meanwhile land in a
+  // fresh entry and are written by the next flush.
+  private Mono<Void> flush() {
+    return Flux.fromIterable(List.copyOf(pending.keySet()))
+        .flatMap(key -> {
+          var delta = pending.remove(key);
+          if (delta == null || delta == 0)
+            return Mono.empty();
+
+          return tsr.addSaves(key.hour(), key.deckId(), delta)
+              .onErrorResume(error -> {
+                log.error("Could not checkpoint saves for deck: {}", key.deckId(), error);
+                pending.merge(key, delta, Long::sum);
+
+                return Mono.empty();
+              });
+        }, properties.getConcurrency())
+        .then();
+  }
+
+  // An hour is settled once it ended more than two checkpoint intervals ago,
+  // so every instance has flushed into it; settled hours are not read again.
+  // Hours that lost saves are kept: unsaves cancel saves made in earlier
+  // hours, so only a window's total is clamped.
+  private Mono<Void> reload(Instant now) {
+    var current = hourOf(now);
+    var oldest = hourOf(now.minus(TrendingWindow.WEEK.getDuration()));
+    var settled = now.minus(properties.getCheckpointInterval().multipliedBy(2));
+    hours.keySet().removeIf(hour -> hour.isBefore(oldest));
+
+    return Flux.range(0, (int) oldest.until(current, ChronoUnit.HOURS) + 1)
+        .map(offset -> oldest.plus(HOUR.multipliedBy(offset)))
+        .filter(hour -> !hours.containsKey(hour) || !hour.plus(HOUR).isBefore(settled))
+        .flatMap(hour -> tsr.findByHour(hour)
+            .filter(saves -> saves.getSaves() != null && saves.getSaves() != 0)
+            .collectMap(TrendingSaves::getDeckId, TrendingSaves::getSaves)
+            .doOnNext(saves -> hours.put(hour, saves)), properties.getConcurrency())
+        .then();
+  }
+
+  private void rebuild(Instant now) {
+    var rebuilt = new EnumMap<TrendingWindow, List<TrendingDeck>>(TrendingWindow.class);
+    for (var window : TrendingWindow.values()) {
+      var from = hourOf(now.minus(window.getDuration()));
+      var totals = new HashMap<String, Long>();
+      hours.forEach((hour, saves) -> {
+        if (!hour.isBefore(from))
+          saves.forEach((deckId, count) -> totals.merge(deckId, count, Long::sum));
+      });
+      rebuilt.put(window, topK(totals));
+    }
+    leaderboards = rebuilt;
+  }
+
+  private List<TrendingDeck> topK(Map<String, Long> totals) {
+    var heap = new PriorityQueue<TrendingDeck>(RANKING);
+    totals.forEach((deckId, saves) -> {
+      if (saves <= 0)
+        return;
+      heap.offer(new TrendingDeck(deckId, saves));
+      if (heap.size() > properties.getMaxEntries())
+        heap.poll();
+    });
+
+    return heap.stream().sorted(RANKING.reversed()).toList();
+  }
+
+  private static Instant hourOf(Instant instant) {
+    return instant.truncatedTo(ChronoUnit.HOURS);
+  }
+}
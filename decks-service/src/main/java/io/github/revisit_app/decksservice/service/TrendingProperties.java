@@ -0,0 +1,22 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.trending")
+@Getter
+@Setter
+public class TrendingProperties {
+
+  private boolean enabled = true;
+
+  private int maxEntries = 1000;
+
+  private int concurrency = 8;
+
+  private Duration checkpointInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,106 @@
+package io.github.revisit_app.decksservice.tracing;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import reactor.core.publisher.Mono;
+
+// W3C trace context of one inbound request, carried in the Reactor context.
+// Stages (Cassandra, downstream services) add their elapsed time to it, so a
+// slow request can be broken down through its Server-Timing header or the
+// slow request log, and downstream calls continue the same trace.
+public class RequestTrace {
+
+  public static final String HEADER = "traceparent";
+
+  private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+
+  private final String traceId;
+  private final String spanId;
+  private final String flags;
+  private final long start = System.nanoTime();
+  private final Map<String, LongAdder> stages = new ConcurrentHashMap<>();
+
+  private RequestTrace(String traceId, String flags) {
+    this.traceId = traceId;
+    this.spanId = randomHex(8);
+    this.flags = flags;
+  }
+
+  public static RequestTrace from(String traceparent) {
+    var matcher = traceparent == null ? null : TRACEPARENT.matcher(traceparent.trim().toLowerCase(Locale.ROOT));
+    if (matcher != null && matcher.matches() && !matcher.group(1).matches("0+"))
+      return new RequestTrace(matcher.group(1), matcher.group(3));
+
+    return new RequestTrace(randomHex(16), "01");
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public String traceparent() {
+    return "00-" + traceId + "-" + spanId + "-" + flags;
+  }
+
+  public String childTraceparent() {
+    return "00-" + traceId + "-" + randomHex(8) + "-" + flags;
+  }
+
+  public void record(String stage, long nanos) {
+    stages.computeIfAbsent(stage, s -> new LongAdder()).add(nanos);
+  }
+
+  public Duration elapsed() {
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+
+  public String serverTiming() {
+    return stages.entrySet().stream()
+        .map(stage -> String.format(Locale.ROOT, "%s;dur=%.1f", stage.getKey(), stage.getValue().sum() / 1e6))
+        .collect(Collectors.joining(", "));
+  }
+
+  public static <T> Mono<T> timed(String stage, Mono<T> mono) {
+    return Mono.deferContextual(ctx -> {
+      var trace = ctx.<RequestTrace>getOrDefault(RequestTrace.class, null);
+      if (trace == null)
+        return mono;
+      var started = System.nanoTime();
+
+      return mono.doFinally(signal -> trace.record(stage, System.nanoTime() - started));
+    });
+  }
+
+  // Times calls to a downstream service and passes the trace on to it.
+  public static ExchangeFilterFunction exchangeFilter(String stage) {
+    return (request, next) -> Mono.deferContextual(ctx -> {
+      var trace = ctx.<RequestTrace>getOrDefault(RequestTrace.class, null);
+      if (trace == null)
+        return next.exchange(request);
+      var traced = ClientRequest.from(request)
+          .header(HEADER, trace.childTraceparent())
+          .build();
+
+      return timed(stage, next.exchange(traced));
+    });
+  }
+
+  private static String randomHex(int bytes) {
+    var random = ThreadLocalRandom.current();
+    var hex = new StringBuilder(bytes * 2);
+    for (int i = 0; i < bytes; i++)
+      hex.append(String.format("%02x", random.nextInt(256)));
+
+    return hex.toString();
+  }
+}
@@ -0,0 +1,50 @@
+package io.github.revisit_app.decksservice.tracing;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestTraceFilter implements WebFilter {
+
+  private static final String SERVER_TIMING = "Server-Timing";
+
+  private final TracingProperties properties;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    var request = exchange.getRequest();
+    var response = exchange.getResponse();
+    var trace = RequestTrace.from(request.getHeaders().getFirst(RequestTrace.HEADER));
+    response.getHeaders().set(RequestTrace.HEADER, trace.traceparent());
+    response.beforeCommit(() -> {
+      var timing = trace.serverTiming();
+      if (!timing.isEmpty())
+        response.getHeaders().set(SERVER_TIMING, timing);
+
+      return Mono.empty();
+    });
+
+    return chain.filter(exchange)
+        .doFinally(signal -> {
+          var elapsed = trace.elapsed();
+          var streaming = MediaType.TEXT_EVENT_STREAM.isCompatibleWith(response.getHeaders().getContentType());
+          if (!streaming && elapsed.compareTo(properties.getSlowRequestThreshold()) > 0)
+            log.warn("Slow request {} {} took {} ms, trace: {}, stages: [{}]", request.getMethod(),
+                request.getPath(), elapsed.toMillis(), trace.getTraceId(), trace.serverTiming());
+        })
+        .contextWrite(Context.of(RequestTrace.class, trace));
+  }
+}
@@ -0,0 +1,82 @@
+package io.github.revisit_app.decksservice.tracing;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.cassandra.ReactiveResultSet;
+import org.springframework.data.cassandra.ReactiveSession;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+// Attributes the time until the first page of each statement to the
+// "cassandra" stage of the current request.
+@RequiredArgsConstructor
+public class TracedReactiveSession implements ReactiveSession {
+
+  private static final String STAGE = "cassandra";
+
+  private final ReactiveSession delegate;
+
+  @Override
+  public Metadata getMetadata() {
+    return delegate.getMetadata();
+  }
+
+  @Override
+  public Optional<CqlIdentifier> getKeyspace() {
+    return delegate.getKeyspace();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return delegate.isClosed();
+  }
+
+  @Override
+  public DriverContext getContext() {
+    return delegate.getContext();
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql) {
+    return RequestTrace.timed(STAGE, delegate.execute(cql));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql, Object... args) {
+    return RequestTrace.timed(STAGE, delegate.execute(cql, args));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(String cql, Map<String, Object> args) {
+    return RequestTrace.timed(STAGE, delegate.execute(cql, args));
+  }
+
+  @Override
+  public Mono<ReactiveResultSet> execute(Statement<?> statement) {
+    return RequestTrace.timed(STAGE, delegate.execute(statement));
+  }
+
+  @Override
+  public Mono<PreparedStatement> prepare(String cql) {
+    return delegate.prepare(cql);
+  }
+
+  @Override
+  public Mono<PreparedStatement> prepare(SimpleStatement statement) {
+    return delegate.prepare(statement);
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
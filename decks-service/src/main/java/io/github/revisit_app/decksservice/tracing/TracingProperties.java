@@ -0,0 +1,16 @@
+package io.github.revisit_app.decksservice.tracing;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "decks.tracing")
+@Getter
+@Setter
+public class TracingProperties {
+
+  private Duration slowRequestThreshold = Duration.ofSeconds(1);
+}
@@ -0,0 +1,12 @@
+package io.github.revisit_app.decksservice.util;
+
+import java.util.Set;
+
+import lombok.Data;
+
+@Data
+public class CardChanges {
+  Set<String> add;
+
+  Set<String> remove;
+}
@@ -0,0 +1,38 @@
+package io.github.revisit_app.decksservice.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import lombok.Data;
+
+@Data
+public class CardChangesResult {
+
+  private Set<String> added = new HashSet<>();
+
+  private Set<String> alreadyPresent = new HashSet<>();
+
+  private Set<String> removed = new HashSet<>();
+
+  private Set<String> notPresent = new HashSet<>();
+
+  public static CardChangesResult of(Set<String> existing, CardChanges changes) {
+    var result = new CardChangesResult();
+    var add = changes.getAdd() == null ? Set.<String>of() : changes.getAdd();
+    var remove = changes.getRemove() == null ? Set.<String>of() : changes.getRemove();
+    for (var cardId : add) {
+      if (existing.contains(cardId))
+        result.alreadyPresent.add(cardId);
+      else
+        result.added.add(cardId);
+    }
+    for (var cardId : remove) {
+      if (existing.contains(cardId) && !add.contains(cardId))
+        result.removed.add(cardId);
+      else
+        result.notPresent.add(cardId);
+    }
+
+    return result;
+  }
+}
@@ -0,0 +1,15 @@
+package io.github.revisit_app.decksservice.util;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  private List<T> items;
+
+  private String next;
+}
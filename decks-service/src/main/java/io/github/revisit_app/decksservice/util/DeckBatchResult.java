@@ -0,0 +1,28 @@
+package io.github.revisit_app.decksservice.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeckBatchResult {
+
+  private String id;
+
+  private boolean missing;
+
+  private DeckData deck;
+
+  public static DeckBatchResult found(DeckData deck) {
+    return new DeckBatchResult(deck.getId(), false, deck);
+  }
+
+  public static DeckBatchResult missing(String id) {
+    return new DeckBatchResult(id, true, null);
+  }
+}
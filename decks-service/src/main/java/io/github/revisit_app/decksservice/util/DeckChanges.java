@@ -0,0 +1,81 @@
+package io.github.revisit_app.decksservice.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeckChanges {
+
+  private UUID version;
+
+  private boolean snapshot;
+
+  private Set<String> added;
+
+  private Set<String> removed;
+
+  private Set<String> cards;
+
+  public static DeckChanges snapshot(DeckData data) {
+    return new DeckChanges(data.getVersion(), true, null, null, data.getCards());
+  }
+
+  // The entries that lead from since to current, oldest first, following each
+  // entry's previous version back from current. Entries off that path were
+  // logged for updates that were never applied. Empty if the path is broken,
+  // by an expired entry or a version change that was not logged, in which case
+  // the caller falls back to a snapshot.
+  public static Optional<List<DeckChange>> chain(UUID since, UUID current, List<DeckChange> log) {
+    var byVersion = new HashMap<UUID, DeckChange>();
+    log.forEach(change -> byVersion.put(change.getVersion(), change));
+    var chain = new ArrayList<DeckChange>();
+    var version = current;
+    while (!since.equals(version)) {
+      var change = byVersion.remove(version);
+      if (change == null)
+        return Optional.empty();
+      chain.add(change);
+      version = change.getPrevious();
+    }
+    Collections.reverse(chain);
+
+    return Optional.of(chain);
+  }
+
+  // Entries are folded in version order, so a card added and later removed
+  // ends up only in removed, and vice versa.
+  public static DeckChanges delta(UUID since, List<DeckChange> log) {
+    var added = new LinkedHashSet<String>();
+    var removed = new LinkedHashSet<String>();
+    var version = since;
+    for (var change : log) {
+      if (change.getRemoved() != null) {
+        added.removeAll(change.getRemoved());
+        removed.addAll(change.getRemoved());
+      }
+      if (change.getAdded() != null) {
+        removed.removeAll(change.getAdded());
+        added.addAll(change.getAdded());
+      }
+      version = change.getVersion();
+    }
+
+    return new DeckChanges(version, false, added, removed, null);
+  }
+}
@@ -1,15 +1,33 @@
 package io.github.revisit_app.decksservice.util;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import io.github.revisit_app.decksservice.entity.Deck;
 import io.github.revisit_app.decksservice.entity.UserUDT;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class DeckData {
 
+  // The default projection, which DeckCache holds.
+  public static final Set<String> FIELDS = Set.of("id", "author", "title", "desc", "dateCreated", "dateUpdated",
+      "numCards", "numSaves", "cards");
+
+  // Returned only when named in ?fields=, so default reads do not select
+  // their columns.
+  public static final Set<String> OPTIONAL_FIELDS = Set.of("forkedFrom");
+
   private String id;
 
   private UserUDT author;
@@ -26,17 +44,91 @@ public class DeckData {
 
   private Long numSaves;
 
-  private List<String> cards;
+  private Set<String> cards;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String forkedFrom;
+
+  @JsonIgnore
+  private UUID version;
 
-  public DeckData(Deck deck) {
+  public DeckData(Deck deck, Long numSaves) {
     this.id = deck.getId();
     this.author = deck.getAuthor();
     this.title = deck.getTitle();
     this.desc = deck.getDesc();
     this.dateCreated = deck.getDateCreated();
     this.dateUpdated = deck.getDateUpdated();
-    this.numCards = deck.getNumCards();
-    this.numSaves = deck.getNumSaves();
+    this.numSaves = numSaves;
     this.cards = deck.getCards();
+    this.numCards = cards == null ? Long.valueOf(0) : Long.valueOf(cards.size());
+    this.version = deck.getVersion();
+    this.forkedFrom = deck.getForkedFrom();
+  }
+
+  public static boolean isKnown(Set<String> fields) {
+    return fields.stream().allMatch(field -> FIELDS.contains(field) || OPTIONAL_FIELDS.contains(field));
+  }
+
+  // Each projection is its own representation, so the sorted field names go
+  // into the entity tag, and so does the save count when it is projected,
+  // since saves are kept in the counter table and do not rewrite the deck's
+  // version. Decks written before versions existed fall back to dateUpdated.
+  public String etag(Set<String> fields) {
+    var base = version != null ? version.toString() : String.valueOf(modified().toEpochMilli());
+    var tag = new StringBuilder("\"").append(base);
+    if (fields.contains("numSaves"))
+      tag.append('-').append(numSaves == null ? 0 : numSaves);
+    if (!fields.equals(FIELDS))
+      tag.append(';').append(String.join(",", new TreeSet<>(fields)));
+
+    return tag.append('"').toString();
+  }
+
+  // A save changes the save count without moving the deck's version, so
+  // projections that include it have no modification time to report.
+  public Optional<Instant> lastModified(Set<String> fields) {
+    return fields.contains("numSaves") ? Optional.empty() : Optional.of(modified());
+  }
+
+  private Instant modified() {
+    if (version != null)
+      return Instant.ofEpochMilli(Uuids.unixTimestamp(version));
+
+    return dateUpdated != null ? dateUpdated : Instant.EPOCH;
+  }
+
+  // Always a copy, cards and author included: DeckCache shares one instance
+  // between readers, and whoever gets the projection may change it. The
+  // default projection writes every field, null or not; narrower ones only
+  // write the fields that have a value.
+  public DeckData project(Set<String> fields) {
+    var data = fields.equals(FIELDS) ? new DeckData() : new Projected();
+    data.id = id;
+    data.version = version;
+    if (fields.contains("author") && author != null)
+      data.author = new UserUDT(author.getId(), author.getUsername(), author.getFirstName(), author.getLastName());
+    if (fields.contains("title"))
+      data.title = title;
+    if (fields.contains("desc"))
+      data.desc = desc;
+    if (fields.contains("dateCreated"))
+      data.dateCreated = dateCreated;
+    if (fields.contains("dateUpdated"))
+      data.dateUpdated = dateUpdated;
+    if (fields.contains("numCards"))
+      data.numCards = numCards;
+    if (fields.contains("numSaves"))
+      data.numSaves = numSaves;
+    if (fields.contains("cards") && cards != null)
+      data.cards = new HashSet<>(cards);
+    if (fields.contains("forkedFrom"))
+      data.forkedFrom = forkedFrom;
+
+    return data;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  static final class Projected extends DeckData {
   }
 }
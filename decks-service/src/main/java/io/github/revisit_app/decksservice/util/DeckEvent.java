@@ -0,0 +1,47 @@
+package io.github.revisit_app.decksservice.util;
+
+import java.time.Instant;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeckEvent {
+
+  public enum Type {
+    CREATED, UPDATED, CARDS, DELETED
+  }
+
+  private Type type;
+
+  private String deckId;
+
+  private Instant at;
+
+  private Set<String> added;
+
+  private Set<String> removed;
+
+  public static DeckEvent created(String deckId) {
+    return new DeckEvent(Type.CREATED, deckId, Instant.now(), null, null);
+  }
+
+  public static DeckEvent updated(String deckId) {
+    return new DeckEvent(Type.UPDATED, deckId, Instant.now(), null, null);
+  }
+
+  public static DeckEvent cards(String deckId, Set<String> added, Set<String> removed) {
+    return new DeckEvent(Type.CARDS, deckId, Instant.now(), added, removed);
+  }
+
+  public static DeckEvent deleted(String deckId) {
+    return new DeckEvent(Type.DELETED, deckId, Instant.now(), null, null);
+  }
+}
@@ -0,0 +1,28 @@
+package io.github.revisit_app.decksservice.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeckImportResult {
+
+  private long index;
+
+  private String id;
+
+  private String error;
+
+  public static DeckImportResult created(long index, String id) {
+    return new DeckImportResult(index, id, null);
+  }
+
+  public static DeckImportResult failed(long index, String error) {
+    return new DeckImportResult(index, null, error);
+  }
+}
@@ -1,5 +1,7 @@
 package io.github.revisit_app.decksservice.util;
 
+import java.util.Set;
+
 import lombok.Data;
 
 @Data
@@ -7,4 +9,6 @@ public class NewDeck {
   String title;
 
   String Desc;
+
+  Set<String> cards;
 }
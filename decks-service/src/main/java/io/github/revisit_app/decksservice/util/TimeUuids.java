@@ -0,0 +1,36 @@
+package io.github.revisit_app.decksservice.util;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Time-based UUIDs for a chosen time rather than the current one. The clock
+// sequence and node are random, so UUIDs made for the same time by different
+// writers do not collide.
+public final class TimeUuids {
+
+  // 100-nanosecond intervals between the UUID epoch and the Unix epoch.
+  private static final long UNIX_EPOCH_OFFSET = 0x01B21DD213814000L;
+
+  private TimeUuids() {
+  }
+
+  public static UUID at(Instant time) {
+    return of(time.getEpochSecond() * 10_000_000 + time.getNano() / 100 + UNIX_EPOCH_OFFSET);
+  }
+
+  // timestamp is in 100-nanosecond intervals since the UUID epoch, as
+  // returned by UUID.timestamp().
+  public static UUID of(long timestamp) {
+    var msb = (timestamp & 0xFFFFFFFFL) << 32 | (timestamp >>> 32 & 0xFFFFL) << 16 | 0x1000L
+        | timestamp >>> 48 & 0x0FFFL;
+    var lsb = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+    return new UUID(msb, lsb);
+  }
+
+  // Microseconds since the Unix epoch, the unit of Cassandra write times.
+  public static long micros(UUID uuid) {
+    return (uuid.timestamp() - UNIX_EPOCH_OFFSET) / 10;
+  }
+}
@@ -0,0 +1,15 @@
+package io.github.revisit_app.decksservice.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingDeck {
+
+  private String id;
+
+  private long saves;
+}
@@ -0,0 +1,17 @@
+package io.github.revisit_app.decksservice.util;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TrendingWindow {
+
+  HOUR(Duration.ofHours(1)),
+  DAY(Duration.ofDays(1)),
+  WEEK(Duration.ofDays(7));
+
+  private final Duration duration;
+}
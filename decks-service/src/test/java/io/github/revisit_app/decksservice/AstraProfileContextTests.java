@@ -0,0 +1,68 @@
+package io.github.revisit_app.decksservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.github.revisit_app.decksservice.connection.AstraSessionConnector;
+import io.github.revisit_app.decksservice.connection.DataStaxAstraProperties;
+import io.github.revisit_app.decksservice.repository.DeckRepo;
+import io.github.revisit_app.decksservice.repository.SavedDecksRepo;
+import io.github.revisit_app.decksservice.repository.TrendingSavesRepo;
+
+// The default profile wires the Cassandra repositories and their query
+// fragments. The connector never connects here: the context has to start
+// without a cluster anyway, and nothing below runs a statement.
+@SpringBootTest(properties = {
+    "spring.main.allow-bean-definition-overriding=true",
+    "astra.keyspace=decks",
+    "astra.prepare-on-startup=false",
+    "decks.outbox.enabled=false",
+    "decks.saves-reconcile.enabled=false",
+    "decks.search.enabled=false",
+    "decks.trending.enabled=false" })
+class AstraProfileContextTests {
+
+  @Autowired
+  private AstraSessionConnector connector;
+
+  @Autowired
+  private DeckRepo deckRepo;
+
+  @Autowired
+  private SavedDecksRepo savedDecksRepo;
+
+  @Autowired
+  private TrendingSavesRepo trendingSavesRepo;
+
+  @Test
+  void repositoryFragmentsResolve() {
+    assertThat(connector.isConnected()).isFalse();
+
+    // Calls into the fragments only assemble the reactive pipeline; a
+    // fragment Spring Data did not pick up fails here instead.
+    assertThat(deckRepo.findCards("deck")).isNotNull();
+    assertThat(deckRepo.findDeckData("deck", Set.of("title"))).isNotNull();
+    assertThat(savedDecksRepo.findSavedDeckIds(1L)).isNotNull();
+    assertThat(trendingSavesRepo.findByHour(Instant.EPOCH)).isNotNull();
+  }
+
+  @TestConfiguration
+  static class StubbedAstra {
+
+    @Bean
+    AstraSessionConnector astraSessionConnector(DataStaxAstraProperties astraProperties) {
+      return new AstraSessionConnector(CompletableFuture<CqlSession>::new, astraProperties.getConnect(), true);
+    }
+  }
+}
@@ -2,8 +2,10 @@ package io.github.revisit_app.decksservice;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("in-memory")
 class DecksServiceApplicationTests {
 
 	@Test
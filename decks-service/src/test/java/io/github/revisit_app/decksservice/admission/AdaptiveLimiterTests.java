@@ -0,0 +1,59 @@
+package io.github.revisit_app.decksservice.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.revisit_app.decksservice.admission.AdaptiveLimiter.Outcome;
+
+class AdaptiveLimiterTests {
+
+  private static AdaptiveLimiter limiter(int initial, double userShare) {
+    var properties = new AdmissionProperties();
+    properties.setUserShare(userShare);
+    var limits = new AdmissionProperties.Limit();
+    limits.setInitialLimit(initial);
+    limits.setMinLimit(2);
+    limits.setMaxLimit(100);
+
+    return new AdaptiveLimiter(limits, properties);
+  }
+
+  @Test
+  void rejectsOverTheLimitUntilReleased() {
+    var limiter = limiter(2, 0);
+    assertThat(limiter.tryAcquire(null)).isEqualTo(Outcome.ADMITTED);
+    assertThat(limiter.tryAcquire(null)).isEqualTo(Outcome.ADMITTED);
+    assertThat(limiter.tryAcquire(null)).isEqualTo(Outcome.LIMITED);
+
+    limiter.release(null);
+    assertThat(limiter.tryAcquire(null)).isEqualTo(Outcome.ADMITTED);
+  }
+
+  @Test
+  void limitFollowsTheLatencyGradient() {
+    var limiter = limiter(20, 0);
+    for (int i = 0; i < 20; i++)
+      limiter.tryAcquire(null);
+    for (int i = 0; i < 50; i++)
+      limiter.onSample(1_000_000);
+    var grown = limiter.getLimit();
+    assertThat(grown).isGreaterThan(20);
+
+    while (limiter.tryAcquire(null) == Outcome.ADMITTED)
+      ;
+    for (int i = 0; i < 20; i++)
+      limiter.onSample(10_000_000);
+    assertThat(limiter.getLimit()).isLessThan(grown);
+  }
+
+  @Test
+  void busyUsersAreHeldToTheirShare() {
+    var limiter = limiter(10, 0.3);
+    for (int i = 0; i < 5; i++)
+      assertThat(limiter.tryAcquire("1")).isEqualTo(Outcome.ADMITTED);
+    assertThat(limiter.tryAcquire("1")).isEqualTo(Outcome.USER_LIMITED);
+    assertThat(limiter.tryAcquire("2")).isEqualTo(Outcome.ADMITTED);
+    assertThat(limiter.getInFlight()).isEqualTo(6);
+  }
+}
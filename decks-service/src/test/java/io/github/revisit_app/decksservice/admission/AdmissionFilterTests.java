@@ -0,0 +1,57 @@
+package io.github.revisit_app.decksservice.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class AdmissionFilterTests {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private WebTestClient client;
+
+  @BeforeEach
+  void setUp() {
+    var admission = new AdmissionFilter(new AdmissionProperties(), registry);
+    var router = RouterFunctions.route()
+        .GET("/{id}", request -> ServerResponse.ok()
+            .body(Flux.defer(() -> Flux.just("in-flight: ", String.valueOf((int) inFlight()))), String.class))
+        .GET("/failing/{id}", request -> Mono.error(new IllegalStateException("failed")))
+        .filter(admission)
+        .build();
+    client = WebTestClient.bindToRouterFunction(router).build();
+  }
+
+  @Test
+  void permitIsHeldWhileTheBodyIsWritten() {
+    client.get()
+        .uri("/{id}", "deck-1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class).isEqualTo("in-flight: 1");
+
+    assertThat(inFlight()).isZero();
+  }
+
+  @Test
+  void permitIsReleasedWhenTheHandlerFails() {
+    client.get()
+        .uri("/failing/{id}", "deck-1")
+        .exchange()
+        .expectStatus().is5xxServerError();
+
+    assertThat(inFlight()).isZero();
+  }
+
+  private double inFlight() {
+    return registry.get("decks.admission.in-flight").tag("route", "reads").gauge().value();
+  }
+}
@@ -0,0 +1,94 @@
+package io.github.revisit_app.decksservice.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class AstraSessionConnectorTests {
+
+  private final List<CompletableFuture<CqlSession>> attempts = new CopyOnWriteArrayList<>();
+
+  private AstraSessionConnector connector(boolean warm) {
+    var properties = new DataStaxAstraProperties.Connect();
+    properties.setInitialBackoff(Duration.ofMillis(1));
+    properties.setMaxBackoff(Duration.ofMillis(1));
+
+    return new AstraSessionConnector(() -> {
+      var attempt = new CompletableFuture<CqlSession>();
+      attempts.add(attempt);
+
+      return attempt;
+    }, properties, warm);
+  }
+
+  @Test
+  void failedAttemptsAreRetriedUntilTheSessionConnects() throws Exception {
+    var connector = connector(false);
+    var health = new AstraHealthIndicator(connector);
+    var session = mock(CqlSession.class);
+    var waiting = connector.session().toFuture();
+
+    attempts.get(0).completeExceptionally(new IllegalStateException("unreachable"));
+    assertThat(connector.isConnected()).isFalse();
+    assertThat(health.health().getStatus().getCode()).isEqualTo("DOWN");
+    assertThat(connector.lazySession().refreshSchema()).isNull();
+
+    // The retry runs after the backoff, on another thread.
+    var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (attempts.size() < 2 && System.nanoTime() < deadline)
+      Thread.onSpinWait();
+    attempts.get(1).complete(session);
+    assertThat(waiting.get(5, TimeUnit.SECONDS)).isSameAs(session);
+    assertThat(connector.isConnected()).isTrue();
+    assertThat(health.health().getStatus().getCode()).isEqualTo("DOWN");
+
+    connector.warmedUp();
+    assertThat(health.health().getStatus().getCode()).isEqualTo("UP");
+
+    connector.close();
+    verify(session).close();
+  }
+
+  @Test
+  void theLazySessionDelegatesOnceConnected() {
+    var connector = connector(true);
+    var session = mock(CqlSession.class);
+    attempts.get(0).complete(session);
+
+    connector.lazySession().getMetadata();
+    verify(session).getMetadata();
+  }
+
+  @Test
+  void eventLoopCallersAreTurnedAwayUntilConnected() {
+    var connector = connector(true);
+    var metadata = Mono.fromCallable(() -> connector.lazySession().getMetadata())
+        .subscribeOn(Schedulers.parallel());
+
+    assertThatThrownBy(metadata::block)
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            error -> assertThat(error.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+    var session = mock(CqlSession.class);
+    attempts.get(0).complete(session);
+    metadata.block();
+    verify(session).getMetadata();
+  }
+}
@@ -0,0 +1,68 @@
+package io.github.revisit_app.decksservice.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.ReactiveSession;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+
+import reactor.core.publisher.Mono;
+
+class ProfiledReactiveSessionTests {
+
+  private final List<Statement<?>> executed = new ArrayList<>();
+
+  private ProfiledReactiveSession session;
+
+  @BeforeEach
+  void setUp() {
+    var delegate = mock(ReactiveSession.class);
+    when(delegate.execute(any(Statement.class))).thenAnswer(inv -> {
+      executed.add(inv.getArgument(0));
+
+      return Mono.empty();
+    });
+    session = new ProfiledReactiveSession(delegate);
+  }
+
+  @Test
+  void selectsRunAsIdempotentReads() {
+    session.execute("SELECT id, title FROM deck WHERE id = ?", "deck-1").block();
+    session.execute("  select count(*) from deck_saves where deck_id = ?", "deck-1").block();
+
+    assertThat(executed).hasSize(2).allSatisfy(statement -> {
+      assertThat(statement.getExecutionProfileName()).isEqualTo(DataStaxAstraProperties.READS_PROFILE);
+      assertThat(statement.isIdempotent()).isTrue();
+    });
+  }
+
+  @Test
+  void everythingElseRunsAsWrites() {
+    session.execute("UPDATE deck SET title = ? WHERE id = ?", "title", "deck-1").block();
+    session.execute("INSERT INTO deck_saves (deck_id, user_id) VALUES (?, ?) IF NOT EXISTS", "deck-1", 1L).block();
+    session.execute("DELETE FROM deck WHERE id = ? IF date_updated = ? AND version = ?", "deck-1", null, null)
+        .block();
+
+    assertThat(executed).hasSize(3).allSatisfy(statement -> {
+      assertThat(statement.getExecutionProfileName()).isEqualTo(DataStaxAstraProperties.WRITES_PROFILE);
+      assertThat(statement.isIdempotent()).isNotEqualTo(Boolean.TRUE);
+    });
+  }
+
+  @Test
+  void namedProfileIsKept() {
+    session.execute(SimpleStatement.newInstance("SELECT id FROM deck").setExecutionProfileName("scan")).block();
+
+    assertThat(executed.get(0).getExecutionProfileName()).isEqualTo("scan");
+    assertThat(executed.get(0).isIdempotent()).isNull();
+  }
+}
@@ -0,0 +1,456 @@
+package io.github.revisit_app.decksservice.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import io.github.revisit_app.decksservice.repository.DeckRepo;
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.github.revisit_app.decksservice.service.AuthorResolver;
+import io.github.revisit_app.decksservice.service.DeckBatchLoader;
+import io.github.revisit_app.decksservice.service.DeckCache;
+import io.github.revisit_app.decksservice.service.DeckCacheProperties;
+import io.github.revisit_app.decksservice.service.DeckChangesProperties;
+import io.github.revisit_app.decksservice.service.DeckEventBus;
+import io.github.revisit_app.decksservice.service.DeckEventsProperties;
+import io.github.revisit_app.decksservice.service.DeckWriteCombiner;
+import io.github.revisit_app.decksservice.service.InMemoryDeckEventFanout;
+import io.github.revisit_app.decksservice.util.DeckData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class DeckHandlerTests {
+
+  private static final String DECK_ID = "deck-1";
+
+  private final AtomicReference<Deck> deck = new AtomicReference<>();
+
+  private final List<DeckChange> changes = new ArrayList<>();
+
+  private final List<Deck> created = new ArrayList<>();
+
+  private DeckCache dc;
+  private WebTestClient client;
+
+  @BeforeEach
+  void setUp() {
+    var dr = mock(DeckRepo.class);
+    var now = Instant.now();
+    deck.set(new Deck(DECK_ID, new UserUDT(1L, "author", "A", "Author"), "title", "desc", now, now,
+        Set.of("card-1"), Uuids.timeBased(), null));
+
+    when(dr.findDeckData(anyString(), any())).thenAnswer(inv -> DECK_ID.equals(inv.getArgument(0))
+        ? Mono.just(new DeckData(deck.get(), 3L).project(inv.getArgument(1)))
+        : Mono.empty());
+
+    when(dr.countSaves(anyString())).thenReturn(Mono.just(3L));
+
+    when(dr.findCardChanges(anyString(), any(), anyInt())).thenAnswer(inv -> Flux.fromIterable(changes)
+        .filter(change -> change.getVersion().timestamp() > ((UUID) inv.getArgument(1)).timestamp())
+        .take(inv.<Integer>getArgument(2)));
+
+    when(((DeckStore) dr).findById(anyString())).thenAnswer(inv -> DECK_ID.equals(inv.getArgument(0))
+        ? Mono.just(deck.get())
+        : Mono.empty());
+    when(dr.findCards(anyString())).thenAnswer(inv -> DECK_ID.equals(inv.getArgument(0))
+        ? Mono.just(deck.get().getCards())
+        : Mono.empty());
+    when(dr.updateCards(anyString(), anySet(), anySet())).thenAnswer(inv -> Mono.fromSupplier(() -> {
+      if (!DECK_ID.equals(inv.getArgument(0)))
+        return null;
+      var cards = new HashSet<>(deck.get().getCards());
+      var added = new HashSet<>(inv.<Set<String>>getArgument(1));
+      added.removeAll(cards);
+      var removed = new HashSet<>(inv.<Set<String>>getArgument(2));
+      removed.retainAll(cards);
+      cards.removeAll(removed);
+      cards.addAll(added);
+      deck.get().setCards(cards);
+      var previous = deck.get().getVersion();
+      if (!added.isEmpty() || !removed.isEmpty())
+        deck.get().setVersion(Uuids.timeBased());
+
+      return new DeckChange(DECK_ID, deck.get().getVersion(), previous, added, removed);
+    }));
+    when(dr.createDeck(any(), any())).thenAnswer(inv -> {
+      created.add(inv.getArgument(0));
+
+      return Mono.just(inv.getArgument(0));
+    });
+
+    var ar = mock(AuthorResolver.class);
+    when(ar.resolve(any())).thenAnswer(inv -> Mono.just(new UserUDT(inv.getArgument(0), "forker", "F", "Forker")));
+
+    dc = new DeckCache(dr, new DeckCacheProperties(), new SimpleMeterRegistry());
+    var dh = new DeckHandler(dr, new DeckBatchLoader(dc), dc, ar,
+        new DeckChangesProperties(), new DeckEventBus(new InMemoryDeckEventFanout(), new DeckEventsProperties()),
+        new DeckWriteCombiner(dr, new SimpleMeterRegistry()));
+    var router = RouterFunctions.route()
+        .POST("/{id}/cards", dh::handleUpdateCards)
+        .PUT("/{id}/cards", dh::handleAddCard)
+        .DELETE("/{id}/cards", dh::handleRemoveCard)
+        .POST("/{id}/fork", dh::handleForkDeck)
+        .GET("/{id}/changes", dh::handleGetChanges)
+        .GET("/{id}", dh::handleGetDeck)
+        .build();
+    client = WebTestClient.bindToRouterFunction(router).build();
+  }
+
+  @Test
+  void defaultProjectionKeepsNullFields() {
+    deck.get().setDesc(null);
+
+    client.get().uri("/{id}", DECK_ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.desc").isEmpty()
+        .jsonPath("$.title").isEqualTo("title")
+        .consumeWith(result -> assertThat(new String(result.getResponseBody())).contains("\"desc\":null"));
+
+    client.get().uri("/{id}?fields=title,desc", DECK_ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.desc").doesNotExist()
+        .jsonPath("$.title").isEqualTo("title");
+  }
+
+  @Test
+  void cardsAreAdded() {
+    client.post().uri("/{id}/cards", DECK_ID)
+        .bodyValue("{\"add\": [\"card-1\", \"card-2\"]}")
+        .header("Content-Type", "application/json")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.added.length()").isEqualTo(1)
+        .jsonPath("$.added[0]").isEqualTo("card-2")
+        .jsonPath("$.alreadyPresent.length()").isEqualTo(1)
+        .jsonPath("$.alreadyPresent[0]").isEqualTo("card-1")
+        .jsonPath("$.removed").isEmpty();
+
+    assertThat(deck.get().getCards()).containsExactlyInAnyOrder("card-1", "card-2");
+  }
+
+  @Test
+  void cardsAreRemoved() {
+    client.post().uri("/{id}/cards", DECK_ID)
+        .bodyValue("{\"remove\": [\"card-1\", \"card-9\"]}")
+        .header("Content-Type", "application/json")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.removed.length()").isEqualTo(1)
+        .jsonPath("$.removed[0]").isEqualTo("card-1")
+        .jsonPath("$.notPresent.length()").isEqualTo(1)
+        .jsonPath("$.notPresent[0]").isEqualTo("card-9")
+        .jsonPath("$.added").isEmpty();
+
+    assertThat(deck.get().getCards()).isEmpty();
+  }
+
+  @Test
+  void cardsAreAddedAndRemovedTogether() {
+    client.post().uri("/{id}/cards", DECK_ID)
+        .bodyValue("{\"add\": [\"card-2\", \"card-3\"], \"remove\": [\"card-1\", \"card-3\"]}")
+        .header("Content-Type", "application/json")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.added.length()").isEqualTo(2)
+        .jsonPath("$.removed.length()").isEqualTo(1)
+        .jsonPath("$.removed[0]").isEqualTo("card-1")
+        .jsonPath("$.notPresent.length()").isEqualTo(1)
+        .jsonPath("$.notPresent[0]").isEqualTo("card-3");
+
+    assertThat(deck.get().getCards()).containsExactlyInAnyOrder("card-2", "card-3");
+  }
+
+  @Test
+  void addingACardBumpsTheVersionOnlyWhenItIsNew() {
+    var version = deck.get().getVersion();
+    client.put().uri("/{id}/cards", DECK_ID)
+        .header("cardId", "card-1")
+        .exchange()
+        .expectStatus().isNoContent();
+    assertThat(deck.get().getVersion()).isEqualTo(version);
+
+    client.put().uri("/{id}/cards", DECK_ID)
+        .header("cardId", "card-2")
+        .exchange()
+        .expectStatus().isCreated();
+    assertThat(deck.get().getVersion()).isNotEqualTo(version);
+    assertThat(deck.get().getCards()).containsExactlyInAnyOrder("card-1", "card-2");
+  }
+
+  @Test
+  void removingAMissingCardLeavesTheDeckAlone() {
+    var version = deck.get().getVersion();
+    client.delete().uri("/{id}/cards", DECK_ID)
+        .header("cardId", "card-9")
+        .exchange()
+        .expectStatus().isNoContent();
+
+    assertThat(deck.get().getVersion()).isEqualTo(version);
+    assertThat(deck.get().getCards()).containsExactly("card-1");
+  }
+
+  @Test
+  void singleCardEditsOfMissingDeckAreNotFound() {
+    client.put().uri("/{id}/cards", "missing")
+        .header("cardId", "card-1")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void cardsOfMissingDeckAreNotFound() {
+    client.post().uri("/{id}/cards", "missing")
+        .bodyValue("{\"add\": [\"card-2\"]}")
+        .header("Content-Type", "application/json")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void matchingEtagIsNotModified() {
+    var etag = client.get().uri("/{id}", DECK_ID)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(DeckData.class)
+        .getResponseHeaders()
+        .getETag();
+    assertThat(etag).isNotNull();
+
+    client.get().uri("/{id}", DECK_ID)
+        .header("If-None-Match", etag)
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.NOT_MODIFIED)
+        .expectHeader().valueEquals("ETag", etag)
+        .expectBody().isEmpty();
+  }
+
+  @Test
+  void changedDeckIsReturnedAgain() {
+    var etag = client.get().uri("/{id}", DECK_ID)
+        .exchange()
+        .returnResult(DeckData.class)
+        .getResponseHeaders()
+        .getETag();
+
+    var changed = deck.get();
+    changed.setVersion(Uuids.timeBased());
+    dc.invalidate(DECK_ID);
+
+    client.get().uri("/{id}", DECK_ID)
+        .header("If-None-Match", etag)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().jsonPath("$.version").doesNotExist();
+  }
+
+  @Test
+  void projectionsHaveTheirOwnEtag() {
+    var full = client.get().uri("/{id}", DECK_ID)
+        .exchange()
+        .returnResult(DeckData.class)
+        .getResponseHeaders()
+        .getETag();
+    var titles = client.get().uri("/{id}?fields=title,id", DECK_ID)
+        .exchange()
+        .returnResult(DeckData.class)
+        .getResponseHeaders()
+        .getETag();
+
+    assertThat(titles).isNotEqualTo(full);
+    client.get().uri("/{id}?fields=id,title", DECK_ID)
+        .header("If-None-Match", titles)
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.NOT_MODIFIED);
+    client.get().uri("/{id}", DECK_ID)
+        .header("If-None-Match", titles)
+        .exchange()
+        .expectStatus().isOk();
+  }
+
+  @Test
+  void unmodifiedSinceLastPollIsNotModified() {
+    client.get().uri("/{id}?fields=title,cards", DECK_ID)
+        .exchange()
+        .expectHeader().exists("Last-Modified");
+
+    client.get().uri("/{id}?fields=title,cards", DECK_ID)
+        .ifModifiedSince(ZonedDateTime.now().plusMinutes(1))
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.NOT_MODIFIED);
+  }
+
+  // Saves do not move the version, so the save count is validated by the
+  // entity tag alone.
+  @Test
+  void projectedSavesHaveNoLastModified() {
+    client.get().uri("/{id}", DECK_ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().doesNotExist("Last-Modified");
+
+    client.get().uri("/{id}", DECK_ID)
+        .ifModifiedSince(ZonedDateTime.now().plusMinutes(1))
+        .exchange()
+        .expectStatus().isOk();
+  }
+
+  @Test
+  void changesWithoutVersionAreASnapshot() {
+    client.get().uri("/{id}/changes", DECK_ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.snapshot").isEqualTo(true)
+        .jsonPath("$.version").isEqualTo(deck.get().getVersion().toString())
+        .jsonPath("$.cards[0]").isEqualTo("card-1");
+  }
+
+  @Test
+  void changesSinceVersionAreFolded() {
+    var since = Uuids.timeBased();
+    var first = Uuids.timeBased();
+    var last = Uuids.timeBased();
+    changes.add(new DeckChange(DECK_ID, first, since, Set.of("card-2", "card-3"), Set.of()));
+    changes.add(new DeckChange(DECK_ID, last, first, Set.of(), Set.of("card-2", "card-1")));
+    deck.get().setVersion(last);
+
+    client.get().uri("/{id}/changes?since={since}", DECK_ID, since)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.snapshot").isEqualTo(false)
+        .jsonPath("$.version").isEqualTo(last.toString())
+        .jsonPath("$.added.length()").isEqualTo(1)
+        .jsonPath("$.added[0]").isEqualTo("card-3")
+        .jsonPath("$.removed.length()").isEqualTo(2)
+        .jsonPath("$.cards").doesNotExist();
+  }
+
+  @Test
+  void changesThatWereNeverAppliedAreSkipped() {
+    var since = Uuids.timeBased();
+    var lost = Uuids.timeBased();
+    var applied = Uuids.timeBased();
+    changes.add(new DeckChange(DECK_ID, lost, since, Set.of("card-9"), Set.of()));
+    changes.add(new DeckChange(DECK_ID, applied, since, Set.of("card-2"), Set.of()));
+    deck.get().setVersion(applied);
+
+    client.get().uri("/{id}/changes?since={since}", DECK_ID, since)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.snapshot").isEqualTo(false)
+        .jsonPath("$.version").isEqualTo(applied.toString())
+        .jsonPath("$.added.length()").isEqualTo(1)
+        .jsonPath("$.added[0]").isEqualTo("card-2");
+  }
+
+  @Test
+  void brokenChainOfChangesIsASnapshot() {
+    var since = Uuids.timeBased();
+    var missing = Uuids.timeBased();
+    var last = Uuids.timeBased();
+    changes.add(new DeckChange(DECK_ID, last, missing, Set.of("card-2"), Set.of()));
+    deck.get().setVersion(last);
+
+    client.get().uri("/{id}/changes?since={since}", DECK_ID, since)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.snapshot").isEqualTo(true);
+  }
+
+  @Test
+  void compactedChangesAreASnapshot() {
+    var since = Uuids.startOf(Instant.now().minus(Duration.ofDays(30)).toEpochMilli());
+
+    client.get().uri("/{id}/changes?since={since}", DECK_ID, since)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.snapshot").isEqualTo(true);
+  }
+
+  @Test
+  void forkCopiesTheDeckForTheCallingUser() {
+    client.post().uri("/{id}/fork", DECK_ID)
+        .header("userId", "7")
+        .exchange()
+        .expectStatus().isCreated()
+        .expectHeader().value("Location", location -> assertThat(location).endsWith("/" + created.get(0).getId()))
+        .expectBody()
+        .jsonPath("$.forkedFrom").isEqualTo(DECK_ID)
+        .jsonPath("$.numCards").isEqualTo(1)
+        .jsonPath("$.cards").doesNotExist();
+
+    assertThat(created).hasSize(1);
+    var fork = created.get(0);
+    assertThat(fork.getId()).isNotEqualTo(DECK_ID);
+    assertThat(fork.getAuthor().getId()).isEqualTo(7L);
+    assertThat(fork.getTitle()).isEqualTo("title");
+    assertThat(fork.getCards()).containsExactly("card-1");
+    assertThat(fork.getForkedFrom()).isEqualTo(DECK_ID);
+  }
+
+  @Test
+  void forkedFromIsOnlyReturnedWhenRequested() {
+    deck.get().setForkedFrom("deck-0");
+
+    client.get().uri("/{id}", DECK_ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("title")
+        .jsonPath("$.forkedFrom").doesNotExist();
+
+    client.get().uri("/{id}?fields=title,forkedFrom", DECK_ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("title")
+        .jsonPath("$.forkedFrom").isEqualTo("deck-0");
+  }
+
+  @Test
+  void forkOfAMissingDeckIsNotFound() {
+    client.post().uri("/{id}/fork", "missing")
+        .header("userId", "7")
+        .exchange()
+        .expectStatus().isNotFound();
+
+    assertThat(created).isEmpty();
+  }
+}
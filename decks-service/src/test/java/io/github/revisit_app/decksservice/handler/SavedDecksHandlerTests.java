@@ -0,0 +1,142 @@
+package io.github.revisit_app.decksservice.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import io.github.revisit_app.decksservice.repository.InMemoryDeckStore;
+import io.github.revisit_app.decksservice.repository.TrendingSavesRepo;
+import io.github.revisit_app.decksservice.service.DeckBatchLoader;
+import io.github.revisit_app.decksservice.service.DeckCache;
+import io.github.revisit_app.decksservice.service.DeckCacheProperties;
+import io.github.revisit_app.decksservice.service.DeckChangesProperties;
+import io.github.revisit_app.decksservice.service.DeckSearchIndex;
+import io.github.revisit_app.decksservice.service.InMemoryDeckEventFanout;
+import io.github.revisit_app.decksservice.service.SearchProperties;
+import io.github.revisit_app.decksservice.service.TrendingDecks;
+import io.github.revisit_app.decksservice.service.TrendingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+class SavedDecksHandlerTests {
+
+  private static final String DECK_ID = "deck-1";
+  private static final Long AUTHOR_ID = 1L;
+
+  private InMemoryDeckStore store;
+  private DeckCache dc;
+  private WebTestClient client;
+
+  @BeforeEach
+  void setUp() {
+    // The store is used as both the deck and the saved decks store, so saves
+    // have the outcomes of the Cassandra repositories rather than of a map.
+    store = new InMemoryDeckStore(new DeckChangesProperties());
+    var now = Instant.now();
+    store.createDeck(new Deck(DECK_ID, new UserUDT(AUTHOR_ID, "author", "A", "Author"), "Title", null, now, now,
+        new HashSet<>(), Uuids.timeBased(), null), AUTHOR_ID).block();
+    store.saveDeck(7L, DECK_ID).block();
+    store.saveDeck(7L, "deck \"2\"").block();
+
+    dc = new DeckCache(store, new DeckCacheProperties(), new SimpleMeterRegistry());
+    var td = new TrendingDecks(mock(TrendingSavesRepo.class), new TrendingProperties());
+    var sdh = new SavedDecksHandler(store, store, new DeckBatchLoader(dc), dc, td,
+        new DeckSearchIndex(store, new InMemoryDeckEventFanout(), new SearchProperties()));
+    var router = RouterFunctions.route()
+        .GET("/saved", sdh::handleGetSavedDecks)
+        .PUT("/saved/{id}", sdh::handleAddDeck)
+        .build();
+    client = WebTestClient.bindToRouterFunction(router).build();
+  }
+
+  @Test
+  void savesMoveTheCachedCountWithoutEvictingTheDeck() {
+    var snapshot = dc.get(DECK_ID, Set.of("title")).block();
+    assertThat(dc.get(DECK_ID).block().getNumSaves()).isEqualTo(1L);
+
+    client.put().uri("/saved/{id}", DECK_ID)
+        .header("userId", "8")
+        .exchange()
+        .expectStatus().isOk();
+    client.put().uri("/saved/{id}", DECK_ID)
+        .header("userId", "8")
+        .exchange()
+        .expectStatus().isNoContent();
+
+    assertThat(dc.get(DECK_ID).block().getNumSaves()).isEqualTo(2L);
+    assertThat(dc.get(DECK_ID, Set.of("title")).block()).isSameAs(snapshot);
+  }
+
+  @Test
+  void concurrentSavesAreNotLost() {
+    int users = 2000;
+
+    Flux.range(100, users)
+        .parallel(32)
+        .runOn(Schedulers.boundedElastic())
+        .doOnNext(userId -> client.put()
+            .uri("/saved/{id}", DECK_ID)
+            .header("userId", String.valueOf(userId))
+            .exchange()
+            .expectStatus().isOk())
+        .sequential()
+        .blockLast();
+
+    assertThat(store.countSaves(DECK_ID).block()).isEqualTo(users + 1L);
+    Flux.range(100, users)
+        .flatMap(userId -> store.findSavedDeckIds(userId.longValue()).collectList())
+        .toIterable()
+        .forEach(deckIds -> assertThat(deckIds).containsExactly(DECK_ID));
+  }
+
+  @Test
+  void savedDeckIdsAreStreamedAsAJsonArray() {
+    client.get()
+        .uri("/saved")
+        .header("userId", "7")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().json("[\"deck-1\", \"deck \\\"2\\\"\"]");
+
+    client.get()
+        .uri("/saved")
+        .header("userId", "8")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().json("[]");
+  }
+
+  @Test
+  void authorSaveIsNoOp() {
+    client.put()
+        .uri("/saved/{id}", DECK_ID)
+        .header("userId", String.valueOf(AUTHOR_ID))
+        .exchange()
+        .expectStatus().isNoContent();
+
+    assertThat(store.countSaves(DECK_ID).block()).isEqualTo(1L);
+    assertThat(store.findSavedDeckIds(AUTHOR_ID).collectList().block()).isEmpty();
+  }
+
+  @Test
+  void missingDeckIsNotFound() {
+    client.put()
+        .uri("/saved/{id}", "missing")
+        .header("userId", "42")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+}
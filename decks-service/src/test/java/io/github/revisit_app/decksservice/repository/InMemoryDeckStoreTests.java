@@ -0,0 +1,88 @@
+package io.github.revisit_app.decksservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import io.github.revisit_app.decksservice.service.DeckChangesProperties;
+import io.github.revisit_app.decksservice.util.DeckChanges;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+class InMemoryDeckStoreTests {
+
+  private InMemoryDeckStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new InMemoryDeckStore(new DeckChangesProperties());
+    var now = Instant.now();
+    store.createDeck(new Deck("d1", new UserUDT(1L, "author", null, null), "Title", null, now, now,
+        new HashSet<>(), Uuids.timeBased(), null), 1L).block();
+  }
+
+  @Test
+  void concurrentCardUpdatesAreNotLost() {
+    Flux.range(0, 200)
+        .parallel(8)
+        .runOn(Schedulers.parallel())
+        .flatMap(i -> store.updateCards("d1", Set.of("card-" + i), Set.of()))
+        .sequential()
+        .blockLast();
+
+    assertThat(store.findCards("d1").block()).hasSize(200);
+  }
+
+  @Test
+  void changesChainAcrossATitleUpdate() {
+    var since = store.findById("d1").block().getVersion();
+    store.updateCards("d1", Set.of("a"), Set.of()).block();
+    store.updateDeck(store.findById("d1").block(), "New title", null, Instant.now()).block();
+    store.updateCards("d1", Set.of("b"), Set.of()).block();
+    var current = store.findById("d1").block().getVersion();
+
+    var log = store.findCardChanges("d1", since, 10).collectList().block();
+    assertThat(log).hasSize(3);
+    var chain = DeckChanges.chain(since, current, log);
+    assertThat(chain).isPresent();
+    assertThat(DeckChanges.delta(since, chain.get()).getAdded()).containsExactlyInAnyOrder("a", "b");
+  }
+
+  @Test
+  void savesAreCountedOncePerUser() {
+    assertThat(store.saveDeck(2L, "d1").block()).isTrue();
+    assertThat(store.saveDeck(2L, "d1").block()).isFalse();
+    assertThat(store.saveDeck(3L, "d1").block()).isTrue();
+    assertThat(store.countSaves("d1").block()).isEqualTo(2L);
+
+    assertThat(store.unsaveDeck(2L, "d1").block()).isTrue();
+    assertThat(store.unsaveDeck(2L, "d1").block()).isFalse();
+    assertThat(store.countSaves("d1").block()).isEqualTo(1L);
+    assertThat(store.findSavedDeckIds(3L).collectList().block()).containsExactly("d1");
+  }
+
+  @Test
+  void concurrentSavesAreCountedOncePerUser() {
+    var saved = Flux.range(0, 400)
+        .parallel(8)
+        .runOn(Schedulers.parallel())
+        .flatMap(i -> store.saveDeck(100L + i % 200, "d1"))
+        .filter(Boolean::booleanValue)
+        .sequential()
+        .count()
+        .block();
+
+    assertThat(saved).isEqualTo(200L);
+    assertThat(store.countSaves("d1").block()).isEqualTo(200L);
+    assertThat(store.findSavedDeckIds(150L).collectList().block()).containsExactly("d1");
+  }
+}
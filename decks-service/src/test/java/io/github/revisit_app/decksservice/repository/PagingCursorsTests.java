@@ -0,0 +1,31 @@
+package io.github.revisit_app.decksservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.CassandraInvalidQueryException;
+
+import com.datastax.oss.driver.api.core.servererrors.InvalidQueryException;
+
+class PagingCursorsTests {
+
+  @Test
+  void rejectedPagingStateIsAnInvalidCursor() {
+    var rejected = new CassandraInvalidQueryException("Invalid value for the paging state",
+        new InvalidQueryException(null, "Invalid value for the paging state"));
+
+    assertThat(PagingCursors.translate("AAEC", rejected))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasCause(rejected);
+  }
+
+  @Test
+  void otherErrorsAreLeftAlone() {
+    var rejected = new CassandraInvalidQueryException("Invalid query",
+        new InvalidQueryException(null, "Invalid query"));
+    var failed = new IllegalStateException("Astra session is not connected yet");
+
+    assertThat(PagingCursors.translate(null, rejected)).isSameAs(rejected);
+    assertThat(PagingCursors.translate("AAEC", failed)).isSameAs(failed);
+  }
+}
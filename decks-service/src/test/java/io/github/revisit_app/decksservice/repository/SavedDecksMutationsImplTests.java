@@ -0,0 +1,67 @@
+package io.github.revisit_app.decksservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.ReactiveCqlOperations;
+
+import io.github.revisit_app.decksservice.service.SavesReconciler;
+import reactor.core.publisher.Mono;
+
+class SavedDecksMutationsImplTests {
+
+  private final List<String> executed = new CopyOnWriteArrayList<>();
+  private final AtomicInteger savedDeckFailures = new AtomicInteger();
+
+  private SavesReconciler reconciler;
+  private SavedDecksMutationsImpl mutations;
+
+  @BeforeEach
+  void setUp() {
+    var ops = mock(ReactiveCassandraOperations.class);
+    var cql = mock(ReactiveCqlOperations.class);
+    when(ops.getReactiveCqlOperations()).thenReturn(cql);
+    when(cql.execute(anyString(), (Object[]) any())).thenAnswer(inv -> Mono.defer(() -> {
+      String statement = inv.getArgument(0);
+      executed.add(statement);
+      if (statement.startsWith("UPDATE deck_counters"))
+        return Mono.error(new IllegalStateException("counter write timed out"));
+      if (statement.startsWith("INSERT INTO user_saved_decks") && savedDeckFailures.getAndDecrement() > 0)
+        return Mono.error(new IllegalStateException("saved deck write timed out"));
+
+      return Mono.just(true);
+    }));
+    reconciler = mock(SavesReconciler.class);
+    mutations = new SavedDecksMutationsImpl(ops, reconciler);
+  }
+
+  @Test
+  void failedCounterUpdateIsReconciledNotRetried() {
+    assertThat(mutations.saveDeck(1L, "deck-1").block()).isTrue();
+
+    assertThat(executed).filteredOn(statement -> statement.startsWith("UPDATE deck_counters")).hasSize(1);
+    verify(reconciler).counterFailed("deck-1");
+  }
+
+  @Test
+  void failedSavedDeckWriteIsRetried() {
+    savedDeckFailures.set(2);
+
+    assertThat(mutations.saveDeck(1L, "deck-1").block()).isTrue();
+
+    assertThat(executed).filteredOn(statement -> statement.startsWith("INSERT INTO user_saved_decks")).hasSize(3);
+    verify(reconciler, never()).savedDeckFailed(any(), any());
+  }
+}
@@ -0,0 +1,55 @@
+package io.github.revisit_app.decksservice.service;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.revisit_app.decksservice.util.DeckEvent;
+import reactor.test.StepVerifier;
+
+class DeckEventBusTests {
+
+  private DeckEventBus bus;
+
+  @BeforeEach
+  void setUp() {
+    var properties = new DeckEventsProperties();
+    properties.setBufferSize(4);
+    bus = new DeckEventBus(new InMemoryDeckEventFanout(), properties);
+    bus.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    bus.stop();
+  }
+
+  @Test
+  void subscribersOnlyReceiveTheirDeck() {
+    StepVerifier.create(bus.subscribe("deck-1").take(2))
+        .then(() -> {
+          bus.publish(DeckEvent.updated("deck-2"));
+          bus.publish(DeckEvent.cards("deck-1", Set.of("card-1"), Set.of()));
+          bus.publish(DeckEvent.deleted("deck-1"));
+        })
+        .expectNextMatches(event -> event.getType() == DeckEvent.Type.CARDS)
+        .expectNextMatches(event -> event.getType() == DeckEvent.Type.DELETED)
+        .verifyComplete();
+  }
+
+  @Test
+  void slowSubscribersDropTheOldestEvents() {
+    StepVerifier.create(bus.subscribe("deck-1"), 0)
+        .then(() -> {
+          for (int i = 0; i < 10; i++)
+            bus.publish(DeckEvent.cards("deck-1", Set.of("card-" + i), Set.of()));
+        })
+        .thenRequest(4)
+        .expectNextMatches(event -> event.getAdded().contains("card-6"))
+        .expectNextCount(3)
+        .thenCancel()
+        .verify();
+  }
+}
@@ -0,0 +1,103 @@
+package io.github.revisit_app.decksservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.revisit_app.decksservice.repository.DeckRepo;
+import io.github.revisit_app.decksservice.util.DeckData;
+import io.github.revisit_app.decksservice.util.DeckEvent;
+import io.github.revisit_app.decksservice.util.SearchHit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class DeckSearchIndexTests {
+
+  private DeckRepo dr;
+  private DeckSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    dr = mock(DeckRepo.class);
+    when(dr.scanDecks()).thenReturn(Flux.just(
+        deck("d1", "Spanish verbs", "Irregular conjugations"),
+        deck("d2", "Verbes français", "Conjugaison des verbes du premier groupe"),
+        deck("d3", "Organic chemistry", "Functional groups and reactions")));
+    when(dr.scanSaves()).thenReturn(Flux.empty());
+    index = new DeckSearchIndex(dr, new InMemoryDeckEventFanout(), new SearchProperties());
+    index.rebuild().block();
+  }
+
+  private static DeckData deck(String id, String title, String desc) {
+    var data = new DeckData();
+    data.setId(id);
+    data.setTitle(title);
+    data.setDesc(desc);
+
+    return data;
+  }
+
+  @Test
+  void matchesPrefixesOfEveryToken() {
+    assertThat(index.search("verb", 10)).extracting(SearchHit::getId).containsExactlyInAnyOrder("d1", "d2");
+    assertThat(index.search("spanish verb", 10)).extracting(SearchHit::getId).containsExactly("d1");
+    assertThat(index.search("francais", 10)).extracting(SearchHit::getId).containsExactly("d2");
+    assertThat(index.search("group", 10)).extracting(SearchHit::getId).containsExactlyInAnyOrder("d2", "d3");
+  }
+
+  @Test
+  void savesBoostTheRanking() {
+    index.addSaves("d3", 50);
+
+    assertThat(index.search("group", 10)).extracting(SearchHit::getId).containsExactly("d3", "d2");
+  }
+
+  @Test
+  void followsUpdatesAndDeletes() {
+    index.put("d1", "Italian verbs", null);
+    index.remove("d3");
+
+    assertThat(index.search("spanish", 10)).isEmpty();
+    assertThat(index.search("ital", 10)).extracting(SearchHit::getId).containsExactly("d1");
+    assertThat(index.search("chemistry", 10)).isEmpty();
+  }
+
+  @Test
+  void followsDeckEvents() {
+    when(dr.findDeckData(eq("d4"), any())).thenReturn(Mono.just(deck("d4", "German nouns", null)));
+
+    index.follow(DeckEvent.created("d4")).block();
+    index.follow(DeckEvent.deleted("d3")).block();
+
+    assertThat(index.search("german", 10)).extracting(SearchHit::getId).containsExactly("d4");
+    assertThat(index.search("chemistry", 10)).isEmpty();
+  }
+
+  // The save lands while the scan is running, after its counter row was
+  // read, so only the live count has it.
+  @Test
+  void savesDuringARebuildAreKept() {
+    when(dr.scanSaves()).thenReturn(Flux.defer(() -> {
+      index.addSaves("d3", 1);
+
+      return Flux.just(saves("d3", 0L));
+    }));
+
+    index.rebuild().block();
+
+    assertThat(index.search("group", 10)).extracting(SearchHit::getId).containsExactly("d3", "d2");
+  }
+
+  private static DeckData saves(String id, Long numSaves) {
+    var data = new DeckData();
+    data.setId(id);
+    data.setNumSaves(numSaves);
+
+    return data;
+  }
+}
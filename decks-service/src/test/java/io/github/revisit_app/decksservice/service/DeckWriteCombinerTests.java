@@ -0,0 +1,168 @@
+package io.github.revisit_app.decksservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.DeckChange;
+import io.github.revisit_app.decksservice.repository.DeckRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+class DeckWriteCombinerTests {
+
+  private static final String DECK_ID = "deck-1";
+
+  private final List<Set<String>> adds = new ArrayList<>();
+  private final List<Set<String>> removes = new ArrayList<>();
+  private final List<Sinks.One<DeckChange>> writes = new ArrayList<>();
+
+  private DeckRepo dr;
+  private DeckWriteCombiner wc;
+
+  @BeforeEach
+  void setUp() {
+    dr = mock(DeckRepo.class);
+    // Writes stay in flight until the test completes them.
+    when(dr.updateCards(anyString(), anySet(), anySet())).thenAnswer(inv -> {
+      adds.add(Set.copyOf(inv.<Set<String>>getArgument(1)));
+      removes.add(Set.copyOf(inv.<Set<String>>getArgument(2)));
+      var write = Sinks.<DeckChange>one();
+      writes.add(write);
+
+      return write.asMono();
+    });
+    wc = new DeckWriteCombiner(dr, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void mutationsQueuedBehindAWriteAreCombined() {
+    var results = new ArrayList<Boolean>();
+    wc.updateCards(DECK_ID, Set.of("a"), Set.of()).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of("b"), Set.of()).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of("c"), Set.of("a")).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of(), Set.of("d")).subscribe(results::add);
+    assertThat(writes).hasSize(1);
+
+    writes.get(0).tryEmitValue(change(Set.of("a"), Set.of()));
+    assertThat(writes).hasSize(2);
+    assertThat(adds.get(1)).containsExactlyInAnyOrder("b", "c");
+    assertThat(removes.get(1)).containsExactlyInAnyOrder("a", "d");
+
+    writes.get(1).tryEmitValue(change(Set.of("b", "c"), Set.of("a", "d")));
+    assertThat(results).containsExactly(true, true, true, true);
+  }
+
+  @Test
+  void laterEditsToTheSameCardWin() {
+    var results = new ArrayList<Boolean>();
+    wc.updateCards(DECK_ID, Set.of("x"), Set.of()).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of("y"), Set.of()).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of(), Set.of("y", "z")).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of("z"), Set.of()).subscribe(results::add);
+
+    writes.get(0).tryEmitEmpty();
+    assertThat(adds.get(1)).containsExactly("z");
+    assertThat(removes.get(1)).containsExactly("y");
+
+    writes.get(1).tryEmitValue(change(Set.of("z"), Set.of()));
+    assertThat(results).containsExactly(true, true, true);
+  }
+
+  @Test
+  void deckNeverHasTwoWritesInFlight() {
+    var inFlight = new AtomicInteger();
+    var overlapped = new AtomicBoolean();
+    var store = mock(DeckRepo.class);
+    when(store.updateCards(anyString(), anySet(), anySet())).thenAnswer(inv -> Mono.fromCallable(() -> {
+      if (inFlight.incrementAndGet() > 1)
+        overlapped.set(true);
+      inFlight.decrementAndGet();
+
+      return change(inv.getArgument(1), inv.getArgument(2));
+    }).subscribeOn(Schedulers.parallel()));
+    var combiner = new DeckWriteCombiner(store, new SimpleMeterRegistry());
+
+    var applied = Flux.range(0, 2000)
+        .parallel(8)
+        .runOn(Schedulers.parallel())
+        .flatMap(i -> combiner.updateCards(DECK_ID, Set.of("card-" + i), Set.of()))
+        .sequential()
+        .filter(Boolean::booleanValue)
+        .count()
+        .block();
+
+    assertThat(applied).isEqualTo(2000);
+    assertThat(overlapped).isFalse();
+  }
+
+  @Test
+  void deckAndCardWritesRunOneAfterTheOther() {
+    var deckWrites = new ArrayList<Sinks.One<Boolean>>();
+    when(dr.updateDeck(any(), any(), any(), any())).thenAnswer(inv -> {
+      var write = Sinks.<Boolean>one();
+      deckWrites.add(write);
+
+      return write.asMono();
+    });
+    var deck = new Deck();
+    deck.setId(DECK_ID);
+    var results = new ArrayList<Boolean>();
+    wc.updateCards(DECK_ID, Set.of("a"), Set.of()).subscribe(results::add);
+    wc.updateDeck(deck, "title", "desc", Instant.now()).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of("b"), Set.of()).subscribe(results::add);
+
+    writes.get(0).tryEmitValue(change(Set.of("a"), Set.of()));
+    assertThat(deckWrites).hasSize(1);
+    assertThat(writes).hasSize(1);
+
+    deckWrites.get(0).tryEmitValue(true);
+    assertThat(writes).hasSize(2);
+    assertThat(adds.get(1)).containsExactly("b");
+
+    writes.get(1).tryEmitValue(change(Set.of("b"), Set.of()));
+    assertThat(results).containsExactly(true, true, true);
+  }
+
+  @Test
+  void callersLearnWhetherTheirOwnEditChangedTheDeck() {
+    var results = new ArrayList<Boolean>();
+    wc.updateCards(DECK_ID, Set.of("a"), Set.of()).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of("b"), Set.of()).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of(), Set.of("c")).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of("d"), Set.of()).subscribe(results::add);
+    wc.updateCards(DECK_ID, Set.of(), Set.of("d")).subscribe(results::add);
+
+    // "a" was already in the deck.
+    writes.get(0).tryEmitValue(change(Set.of(), Set.of()));
+    assertThat(results).containsExactly(false);
+
+    // "b" was already in the deck, "c" and "d" were not.
+    writes.get(1).tryEmitValue(change(Set.of(), Set.of()));
+    assertThat(results).containsExactly(false, false, false, true, true);
+  }
+
+  private static DeckChange change(Set<String> added, Set<String> removed) {
+    var version = UUID.randomUUID();
+
+    return new DeckChange(DECK_ID, version, version, added, removed);
+  }
+}
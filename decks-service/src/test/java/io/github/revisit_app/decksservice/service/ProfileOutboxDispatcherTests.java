@@ -0,0 +1,228 @@
+package io.github.revisit_app.decksservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.github.revisit_app.decksservice.connection.UserProfileProperties;
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry;
+import io.github.revisit_app.decksservice.entity.ProfileOutboxEntry.Action;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+import io.github.revisit_app.decksservice.repository.DeckStore;
+import io.github.revisit_app.decksservice.repository.ProfileOutboxRepo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+class ProfileOutboxDispatcherTests {
+
+  private static final Long FAILING_USER = 13L;
+  private static final Long REJECTED_USER = 14L;
+
+  private final List<String> received = new CopyOnWriteArrayList<>();
+  private final List<ProfileOutboxEntry> completed = new CopyOnWriteArrayList<>();
+  private final List<ProfileOutboxEntry> rescheduled = new CopyOnWriteArrayList<>();
+  private final List<ProfileOutboxEntry> deadLettered = new CopyOnWriteArrayList<>();
+  private final List<Instant> cursors = new CopyOnWriteArrayList<>();
+  private final AtomicBoolean profileServiceDown = new AtomicBoolean();
+
+  private DisposableServer profileService;
+  private ProfileOutboxRepo por;
+  private DeckStore dr;
+  private ProfileOutboxProperties properties;
+  private ProfileOutboxDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    profileService = HttpServer.create()
+        .port(0)
+        .route(routes -> routes
+            .put("/{userId}/decks", this::respond)
+            .delete("/{userId}/decks", this::respond))
+        .bindNow();
+
+    por = mock(ProfileOutboxRepo.class);
+    when(por.findDue(anyInt(), any(), any(), anyInt())).thenReturn(Flux.empty());
+    when(por.findCursor(anyInt())).thenReturn(Mono.empty());
+    when(por.claimLease(anyInt(), any(), any())).thenReturn(Mono.just(true));
+    when(por.saveCursor(anyInt(), any())).thenAnswer(inv -> Mono.fromRunnable(() -> cursors.add(inv.getArgument(1))));
+    when(por.complete(any())).thenAnswer(inv -> Mono.fromRunnable(() -> completed.add(inv.getArgument(0))));
+    when(por.reschedule(any(), any())).thenAnswer(inv -> Mono.fromCallable(() -> rescheduled.add(inv.getArgument(1))));
+    when(por.deadLetter(any(), any())).thenAnswer(inv -> Mono.fromRunnable(() -> deadLettered.add(inv.getArgument(0))));
+
+    dr = mock(DeckStore.class);
+    when(dr.findAuthor(any())).thenReturn(Mono.just(new UserUDT(1L, "author", null, null)));
+
+    var profileProperties = new UserProfileProperties();
+    profileProperties.setBaseUrl("http://localhost:" + profileService.port());
+    properties = new ProfileOutboxProperties();
+    properties.setBuckets(1);
+    properties.setInitialBackoff(Duration.ofSeconds(2));
+    dispatcher = new ProfileOutboxDispatcher(por, dr, properties, profileProperties, WebClient.builder());
+  }
+
+  @AfterEach
+  void tearDown() {
+    dispatcher.stop();
+    profileService.disposeNow();
+  }
+
+  @Test
+  void deliversAndCompletesDueEntries() {
+    var add = entry(Action.ADD, 1L, "deck-1");
+    var remove = entry(Action.REMOVE, 2L, "deck-2");
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(add, remove), Flux.empty());
+
+    assertThat(dispatcher.dispatchOnce().block()).isEqualTo(2);
+
+    assertThat(received).containsExactlyInAnyOrder(
+        "PUT 1 deck-1 " + add.getId(),
+        "DELETE 2 deck-2 " + remove.getId());
+    assertThat(completed).containsExactlyInAnyOrder(add, remove);
+    assertThat(rescheduled).isEmpty();
+  }
+
+  @Test
+  void failedDeliveryIsRescheduledWithBackoff() {
+    var failing = entry(Action.ADD, FAILING_USER, "deck-1");
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(failing), Flux.empty());
+
+    var before = Instant.now();
+    assertThat(dispatcher.dispatchOnce().block()).isZero();
+
+    assertThat(completed).isEmpty();
+    assertThat(rescheduled).hasSize(1);
+    var next = rescheduled.get(0);
+    assertThat(next.getId()).isEqualTo(failing.getId());
+    assertThat(next.getAttempts()).isEqualTo(1);
+    assertThat(next.dueAt()).isAfterOrEqualTo(before.plusSeconds(2).truncatedTo(ChronoUnit.MILLIS));
+    assertThat(next.getSlot()).isEqualTo(ProfileOutboxEntry.slot(next.dueAt(), properties.getSlotSize()));
+  }
+
+  @Test
+  void exhaustedEntriesAreDeadLettered() {
+    var failing = entry(Action.ADD, FAILING_USER, "deck-1");
+    failing.setAttempts(properties.getMaxAttempts() - 1);
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(failing), Flux.empty());
+
+    assertThat(dispatcher.dispatchOnce().block()).isZero();
+
+    assertThat(rescheduled).isEmpty();
+    assertThat(deadLettered).containsExactly(failing);
+    assertThat(failing.getAttempts()).isEqualTo(properties.getMaxAttempts());
+  }
+
+  @Test
+  void rejectedEntriesAreDeadLetteredStraightAway() {
+    var rejected = entry(Action.REMOVE, REJECTED_USER, "deck-1");
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(rejected), Flux.empty());
+
+    assertThat(dispatcher.dispatchOnce().block()).isZero();
+
+    assertThat(rescheduled).isEmpty();
+    assertThat(deadLettered).containsExactly(rejected);
+  }
+
+  @Test
+  void cursorMovesPastDrainedSlots() {
+    var slotSize = properties.getSlotSize();
+    var current = ProfileOutboxEntry.slot(Instant.now(), slotSize);
+    when(por.findCursor(0)).thenReturn(Mono.just(current.minus(slotSize.multipliedBy(3))));
+    var pending = entry(Action.ADD, 1L, "deck-1");
+    when(por.findDue(eq(0), eq(current.minus(slotSize.multipliedBy(2))), any(), anyInt()))
+        .thenReturn(Flux.just(pending));
+
+    assertThat(dispatcher.dispatchOnce().block()).isEqualTo(1);
+
+    // The empty slot before the pending entry's is skipped from now on; the
+    // pending entry's slot is read again until it is found empty.
+    assertThat(cursors).containsExactly(current.minus(slotSize.multipliedBy(2)));
+  }
+
+  @Test
+  void addRetriedAfterItsDeckIsRemovedIsDropped() {
+    var add = entry(Action.ADD, 1L, "deck-1");
+    profileServiceDown.set(true);
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(add), Flux.empty());
+    assertThat(dispatcher.dispatchOnce().block()).isZero();
+    var retry = rescheduled.get(0);
+
+    profileServiceDown.set(false);
+    when(dr.findAuthor("deck-1")).thenReturn(Mono.empty());
+    var remove = entry(Action.REMOVE, 1L, "deck-1");
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(remove), Flux.empty());
+    assertThat(dispatcher.dispatchOnce().block()).isEqualTo(1);
+
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(retry), Flux.empty());
+    assertThat(dispatcher.dispatchOnce().block()).isZero();
+
+    assertThat(received).containsExactly(
+        "PUT 1 deck-1 " + add.getId(),
+        "DELETE 1 deck-1 " + remove.getId());
+    assertThat(completed).containsExactly(remove, retry);
+  }
+
+  @Test
+  void addSharingABatchWithItsDecksRemoveIsDropped() {
+    var add = entry(Action.ADD, 1L, "deck-1");
+    var retry = add.retry(1, Instant.now(), properties.getSlotSize());
+    var remove = entry(Action.REMOVE, 1L, "deck-1");
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(remove, retry), Flux.empty());
+
+    assertThat(dispatcher.dispatchOnce().block()).isEqualTo(1);
+
+    assertThat(received).containsExactly("DELETE 1 deck-1 " + remove.getId());
+    assertThat(completed).containsExactly(remove, retry);
+    verify(dr, never()).findAuthor(any());
+  }
+
+  @Test
+  void bucketsLeasedByAnotherInstanceAreSkipped() {
+    when(por.claimLease(anyInt(), any(), any())).thenReturn(Mono.just(false));
+    when(por.findDue(eq(0), any(), any(), anyInt())).thenReturn(Flux.just(entry(Action.ADD, 1L, "deck-1")));
+
+    assertThat(dispatcher.dispatchOnce().block()).isZero();
+    assertThat(dispatcher.dispatchOnce().block()).isZero();
+
+    assertThat(received).isEmpty();
+    verify(por, never()).findDue(anyInt(), any(), any(), anyInt());
+    // The lease is claimed again only once half of it has run out.
+    verify(por).claimLease(eq(0), any(), eq(properties.getLease()));
+  }
+
+  private Publisher<Void> respond(HttpServerRequest req, HttpServerResponse res) {
+    var userId = req.param("userId");
+    received.add(req.method().name() + " " + userId + " " + req.requestHeaders().get("deckId") + " "
+        + req.requestHeaders().get("Idempotency-Key"));
+
+    if (REJECTED_USER.toString().equals(userId))
+      return res.status(404).send();
+
+    return res.status(FAILING_USER.toString().equals(userId) || profileServiceDown.get() ? 503 : 200).send();
+  }
+
+  private static ProfileOutboxEntry entry(Action action, Long userId, String deckId) {
+    return ProfileOutboxEntry.create(action, userId, deckId, 1, Duration.ofHours(1));
+  }
+}
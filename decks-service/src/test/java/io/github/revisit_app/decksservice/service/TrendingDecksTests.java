@@ -0,0 +1,88 @@
+package io.github.revisit_app.decksservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.revisit_app.decksservice.entity.TrendingSaves;
+import io.github.revisit_app.decksservice.repository.TrendingSavesRepo;
+import io.github.revisit_app.decksservice.util.TrendingDeck;
+import io.github.revisit_app.decksservice.util.TrendingWindow;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class TrendingDecksTests {
+
+  private final Map<Instant, Map<String, Long>> table = new ConcurrentHashMap<>();
+
+  private TrendingSavesRepo tsr;
+
+  @BeforeEach
+  void setUp() {
+    tsr = mock(TrendingSavesRepo.class);
+    when(tsr.addSaves(any(), anyString(), anyLong())).thenAnswer(inv -> Mono.fromRunnable(() -> table
+        .computeIfAbsent(inv.getArgument(0), hour -> new ConcurrentHashMap<>())
+        .merge(inv.getArgument(1), inv.getArgument(2), Long::sum)));
+    when(tsr.findByHour(any())).thenAnswer(inv -> Flux.fromIterable(table
+        .getOrDefault(inv.getArgument(0), Map.of())
+        .entrySet())
+        .map(e -> new TrendingSaves(inv.getArgument(0), e.getKey(), e.getValue())));
+  }
+
+  @Test
+  void instancesShareCheckpointedSaves() {
+    var first = new TrendingDecks(tsr, new TrendingProperties());
+    var second = new TrendingDecks(tsr, new TrendingProperties());
+
+    first.record("deck-1", 1);
+    first.record("deck-2", 1);
+    second.record("deck-2", 1);
+    second.record("deck-3", 1);
+    second.record("deck-3", 1);
+    second.record("deck-3", -1);
+    first.checkpoint().block();
+    second.checkpoint().block();
+    first.checkpoint().block();
+
+    var expected = new TrendingDeck[] { new TrendingDeck("deck-2", 2), new TrendingDeck("deck-1", 1),
+        new TrendingDeck("deck-3", 1) };
+    assertThat(first.top(TrendingWindow.DAY, 10)).containsExactly(expected);
+    assertThat(second.top(TrendingWindow.HOUR, 10)).containsExactly(expected);
+    assertThat(first.top(TrendingWindow.WEEK, 1)).containsExactly(expected[0]);
+  }
+
+  @Test
+  void restartedInstanceReloadsCheckpoints() {
+    var instance = new TrendingDecks(tsr, new TrendingProperties());
+    instance.record("deck-1", 1);
+    instance.checkpoint().block();
+
+    var restarted = new TrendingDecks(tsr, new TrendingProperties());
+    restarted.checkpoint().block();
+
+    assertThat(restarted.top(TrendingWindow.WEEK, 10)).containsExactly(new TrendingDeck("deck-1", 1));
+  }
+
+  @Test
+  void unsavesCancelSavesOfEarlierHours() {
+    var now = Instant.now().truncatedTo(ChronoUnit.HOURS);
+    table.put(now.minus(2, ChronoUnit.HOURS), new ConcurrentHashMap<>(Map.of("deck-1", 3L, "deck-2", 1L)));
+    table.put(now.minus(1, ChronoUnit.HOURS), new ConcurrentHashMap<>(Map.of("deck-1", -2L, "deck-2", -1L)));
+
+    var instance = new TrendingDecks(tsr, new TrendingProperties());
+    instance.checkpoint().block();
+
+    assertThat(instance.top(TrendingWindow.DAY, 10)).containsExactly(new TrendingDeck("deck-1", 1));
+  }
+}
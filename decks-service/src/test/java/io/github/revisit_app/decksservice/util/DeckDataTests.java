@@ -0,0 +1,34 @@
+package io.github.revisit_app.decksservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+
+import io.github.revisit_app.decksservice.entity.Deck;
+import io.github.revisit_app.decksservice.entity.UserUDT;
+
+class DeckDataTests {
+
+  @Test
+  void fullProjectionIsACopy() {
+    var now = Instant.now();
+    var cached = new DeckData(new Deck("deck-1", new UserUDT(1L, "author", "A", "Author"), "Title", null, now, now,
+        new HashSet<>(Set.of("card-1")), Uuids.timeBased(), null), 3L);
+
+    var projected = cached.project(DeckData.FIELDS);
+    projected.setTitle("Changed");
+    projected.getCards().add("card-2");
+    projected.getAuthor().setUsername("changed");
+
+    assertThat(projected).isNotSameAs(cached);
+    assertThat(cached.getTitle()).isEqualTo("Title");
+    assertThat(cached.getCards()).containsExactly("card-1");
+    assertThat(cached.getAuthor().getUsername()).isEqualTo("author");
+  }
+}